@@ -0,0 +1,107 @@
+package ch.cern.todo;
+
+import ch.cern.todo.repository.TaskRepository;
+import ch.cern.todo.security.TaskAuthorizer;
+import ch.cern.todo.security.TaskOwnershipCache;
+import ch.cern.todo.security.TodoUserDetails;
+import ch.cern.todo.service.SecurityService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.security.access.expression.ExpressionUtils;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of one task authorization decision made by the former
+ * {@code @PreAuthorize} SpEL expression with the typed {@link TaskAuthorizer}.
+ * Ownership is answered from memory in every variant, so only the decision path is measured.
+ *
+ * Variants:
+ * - SpEL, parsed and evaluated per call
+ * - SpEL, parsed once and evaluated per call (what Spring's method security does)
+ * - Typed authorizer
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuthorizationBenchmark {
+
+    private static final String EXPRESSION = "@securityService.hasAccessToTask(#id, authentication)";
+
+    private DefaultMethodSecurityExpressionHandler expressionHandler;
+    private Expression parsedExpression;
+    private SimpleMethodInvocation invocation;
+    private TaskAuthorizer taskAuthorizer;
+    private Authentication owner;
+
+    /**
+     * Target whose method signature the expression is evaluated against.
+     */
+    public static class Tasks {
+
+        public void deleteTask(Long id) {
+        }
+    }
+
+    /**
+     * Builds both decision paths over the same in-memory ownership data.
+     */
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        TaskOwnershipCache ownership = new TaskOwnershipCache((TaskRepository) null, new SimpleMeterRegistry(), 16) {
+            @Override
+            public Optional<Long> ownerOf(Long taskId) {
+                return Optional.of(1L);
+            }
+        };
+        SecurityService securityService = new SecurityService(ownership);
+        taskAuthorizer = new TaskAuthorizer(securityService, new SimpleMeterRegistry());
+
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        owner = UsernamePasswordAuthenticationToken.authenticated(
+                new TodoUserDetails(1L, "user1", null, authorities), null, authorities);
+
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.getBeanFactory().registerSingleton("securityService", securityService);
+        context.refresh();
+        expressionHandler = new DefaultMethodSecurityExpressionHandler();
+        expressionHandler.setApplicationContext(context);
+        parsedExpression = expressionHandler.getExpressionParser().parseExpression(EXPRESSION);
+        invocation = new SimpleMethodInvocation(new Tasks(), Tasks.class.getMethod("deleteTask", Long.class), 1L);
+    }
+
+    @Benchmark
+    public boolean spelParsedPerCall() {
+        Expression expression = expressionHandler.getExpressionParser().parseExpression(EXPRESSION);
+        EvaluationContext context = expressionHandler.createEvaluationContext(() -> owner, invocation);
+        return ExpressionUtils.evaluateAsBoolean(expression, context);
+    }
+
+    @Benchmark
+    public boolean spelPreParsed() {
+        EvaluationContext context = expressionHandler.createEvaluationContext(() -> owner, invocation);
+        return ExpressionUtils.evaluateAsBoolean(parsedExpression, context);
+    }
+
+    @Benchmark
+    public boolean typedAuthorizer() {
+        taskAuthorizer.authorize(1L, owner);
+        return true;
+    }
+}
@@ -0,0 +1,175 @@
+package ch.cern.todo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the insert throughput of tasks under the two ID strategies, issuing the
+ * statements Hibernate issues for each against an in-memory H2 database.
+ *
+ * Variants:
+ * - Identity column: one INSERT per task, with its generated key read back
+ * - Pooled sequence: one sequence call per 50 tasks, inserts sent in JDBC batches of 50
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BulkInsertBenchmark {
+
+    /**
+     * Tasks inserted per benchmark invocation.
+     */
+    private static final int TASKS = 1000;
+
+    /**
+     * Sequence increment and JDBC batch size, as configured for the application.
+     */
+    private static final int BLOCK_SIZE = 50;
+
+    @Param({"1", "10"})
+    public int transactionsPerInvocation;
+
+    private Connection connection;
+    private Timestamp deadline;
+
+    /**
+     * Creates a database with one user and one category, and both task tables.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:bulk-insert;DB_CLOSE_DELAY=-1", "sa", "");
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE USERS (ID BIGINT PRIMARY KEY, USERNAME VARCHAR(255))");
+            statement.execute("CREATE TABLE TASK_CATEGORIES (CATEGORY_ID BIGINT PRIMARY KEY, CATEGORY_NAME VARCHAR(255))");
+            statement.execute("INSERT INTO USERS VALUES (1, 'user1')");
+            statement.execute("INSERT INTO TASK_CATEGORIES VALUES (1, 'Work')");
+            for (String table : new String[] {"IDENTITY_TASKS", "SEQUENCE_TASKS"}) {
+                String id = table.startsWith("IDENTITY")
+                        ? "TASK_ID BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY"
+                        : "TASK_ID BIGINT PRIMARY KEY";
+                statement.execute("CREATE TABLE " + table + " (" + id + ", TASK_NAME VARCHAR(255) NOT NULL, "
+                        + "TASK_DESCRIPTION VARCHAR(500), DEADLINE TIMESTAMP NOT NULL, "
+                        + "CATEGORY_ID BIGINT NOT NULL REFERENCES TASK_CATEGORIES, "
+                        + "USER_ID BIGINT NOT NULL REFERENCES USERS)");
+            }
+            // Each value is the upper end of a block, as after IdSequenceAligner ran on an empty table
+            statement.execute("CREATE SEQUENCE TASKS_SEQ START WITH " + BLOCK_SIZE + " INCREMENT BY " + BLOCK_SIZE);
+        }
+        connection.commit();
+        deadline = Timestamp.valueOf(LocalDateTime.now().plusDays(7));
+    }
+
+    /**
+     * Empties the task tables between iterations, so every iteration starts alike.
+     */
+    @Setup(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE IDENTITY_TASKS");
+            statement.execute("TRUNCATE TABLE SEQUENCE_TASKS");
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+        connection.close();
+    }
+
+    /**
+     * Inserts tasks one statement each, reading every generated key back.
+     */
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public long identityInserts() throws SQLException {
+        long lastId = 0;
+        int perTransaction = TASKS / transactionsPerInvocation;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO IDENTITY_TASKS (TASK_NAME, TASK_DESCRIPTION, DEADLINE, CATEGORY_ID, USER_ID) "
+                        + "VALUES (?, ?, ?, 1, 1)", Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < TASKS; i++) {
+                bind(insert, 1, i);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                    lastId = keys.getLong(1);
+                }
+                if ((i + 1) % perTransaction == 0) {
+                    connection.commit();
+                }
+            }
+        }
+        connection.commit();
+        return lastId;
+    }
+
+    /**
+     * Inserts tasks in batches, drawing one block of IDs per batch as the pooled optimizer does.
+     */
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public long pooledSequenceBatchedInserts() throws SQLException {
+        long nextId = 1;
+        long blockEnd = 0;
+        int perTransaction = TASKS / transactionsPerInvocation;
+        try (PreparedStatement nextValue = connection.prepareStatement("SELECT NEXT VALUE FOR TASKS_SEQ");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO SEQUENCE_TASKS (TASK_ID, TASK_NAME, TASK_DESCRIPTION, DEADLINE, CATEGORY_ID, USER_ID) "
+                             + "VALUES (?, ?, ?, ?, 1, 1)")) {
+            for (int i = 0; i < TASKS; i++) {
+                if (nextId > blockEnd) {
+                    try (ResultSet value = nextValue.executeQuery()) {
+                        value.next();
+                        blockEnd = value.getLong(1);
+                    }
+                    nextId = blockEnd - BLOCK_SIZE + 1;
+                }
+                insert.setLong(1, nextId++);
+                bind(insert, 2, i);
+                insert.addBatch();
+                boolean endOfTransaction = (i + 1) % perTransaction == 0;
+                if ((i + 1) % BLOCK_SIZE == 0 || endOfTransaction) {
+                    insert.executeBatch();
+                }
+                if (endOfTransaction) {
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        return nextId;
+    }
+
+    /**
+     * Binds the name, description and deadline of the i-th task from the given parameter on.
+     */
+    private void bind(PreparedStatement insert, int first, int i) throws SQLException {
+        insert.setString(first, "Task " + i);
+        insert.setString(first + 1, "Imported task number " + i);
+        insert.setTimestamp(first + 2, deadline);
+    }
+}
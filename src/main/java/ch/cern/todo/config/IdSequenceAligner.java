@@ -0,0 +1,80 @@
+package ch.cern.todo.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves the ID sequences of the entities past the IDs already stored, at startup.
+ *
+ * Entity IDs used to come from identity columns. Databases created back then hold rows
+ * whose IDs the new sequences know nothing about, so a fresh sequence would hand them
+ * out again. Each sequence is restarted so that its first pooled block starts right
+ * after the largest stored ID. This runs once all singletons exist (the schema has been
+ * updated by then) and before the web server accepts requests; with no other instance
+ * on the database, no block handed out earlier is still in use, so restarting also
+ * drops the unused remainder of the blocks of the previous run.
+ *
+ * Features:
+ * - Idempotent: safe on new, migrated and already aligned databases
+ * - One MAX query and one ALTER SEQUENCE per entity table
+ */
+@Component
+public class IdSequenceAligner implements SmartInitializingSingleton {
+
+    /**
+     * IDs reserved per sequence call; must match the allocationSize of the entities'
+     * {@code @SequenceGenerator}.
+     */
+    static final int ALLOCATION_SIZE = 50;
+
+    /**
+     * A sequence and the ID column it feeds.
+     */
+    record IdSequence(String sequence, String table, String column) {
+    }
+
+    static final List<IdSequence> SEQUENCES = List.of(
+            new IdSequence("TASKS_SEQ", "TASKS", "TASK_ID"),
+            new IdSequence("TASK_CATEGORIES_SEQ", "TASK_CATEGORIES", "CATEGORY_ID"),
+            new IdSequence("USERS_SEQ", "USERS", "ID"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs the aligner. The entity manager factory is only a dependency, so the
+     * schema exists before alignment runs.
+     */
+    public IdSequenceAligner(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Aligns every sequence with its table.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (IdSequence idSequence : SEQUENCES) {
+            align(idSequence);
+        }
+    }
+
+    private void align(IdSequence idSequence) {
+        Long maxId = jdbcTemplate.queryForObject(
+                "SELECT MAX(" + idSequence.column() + ") FROM " + idSequence.table(), Long.class);
+        long restart = restartValue(maxId != null ? maxId : 0L);
+        jdbcTemplate.execute("ALTER SEQUENCE " + idSequence.sequence() + " RESTART WITH " + restart);
+    }
+
+    /**
+     * Gets the sequence value whose pooled block starts right after the given ID.
+     * The pooled optimizer treats each sequence value as the upper end of a block of
+     * {@link #ALLOCATION_SIZE} IDs.
+     */
+    static long restartValue(long maxId) {
+        return maxId + ALLOCATION_SIZE;
+    }
+}
@@ -0,0 +1,134 @@
+package ch.cern.todo.config;
+
+import ch.cern.todo.model.TaskCategory;
+import ch.cern.todo.model.User;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Configuration of the Hibernate second-level cache, held in local Caffeine caches
+ * behind the JCache API.
+ *
+ * Categories, users and the users' role sets are cached by ID, and the list of all
+ * categories as a query result. Writes through JPA update the cached entries when they
+ * commit, and any write to a table marks the query results read from it as stale, so
+ * changes made through the admin endpoints are seen at once.
+ *
+ * Features:
+ * - One bounded cache per region, sized from properties
+ * - A cache manager of its own per application context, closed with it
+ * - Hit ratio per region in the "hibernate.cache.hit.ratio" gauge
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    /**
+     * Name of the hit ratio gauge.
+     */
+    public static final String HIT_RATIO_METRIC = "hibernate.cache.hit.ratio";
+
+    /**
+     * Regions holding entities or collections by ID.
+     */
+    static final List<String> DATA_REGIONS = List.of(
+            TaskCategory.CACHE_REGION, User.CACHE_REGION, User.ROLES_CACHE_REGION);
+
+    /**
+     * Creates the cache manager and the bounded cache of every region.
+     * The update timestamps region is not bounded: it holds one entry per table, and
+     * evicting one would make stale query results look current.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(
+            @Value("${todo.jpa.cache.categories.max-entries:10000}") long maxCategories,
+            @Value("${todo.jpa.cache.users.max-entries:10000}") long maxUsers,
+            @Value("${todo.jpa.cache.queries.max-entries:100}") long maxQueryResults) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // A URI of its own keeps contexts sharing the JVM, e.g. in tests, from sharing entries
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("todo:second-level-cache/" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(TaskCategory.CACHE_REGION, bounded(maxCategories));
+        cacheManager.createCache(User.CACHE_REGION, bounded(maxUsers));
+        cacheManager.createCache(User.ROLES_CACHE_REGION, bounded(maxUsers));
+        cacheManager.createCache(TaskCategory.QUERY_CACHE_REGION, bounded(maxQueryResults));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                bounded(maxQueryResults));
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    /**
+     * Hands the cache manager to Hibernate.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+
+    /**
+     * Registers the hit ratio of every region. The ratio is NaN until the region is used.
+     */
+    @Bean
+    public MeterBinder secondLevelCacheHitRatios(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (String region : DATA_REGIONS) {
+                hitRatioGauge(statistics, region, "data", s -> s.getDomainDataRegionStatistics(region))
+                        .register(registry);
+            }
+            hitRatioGauge(statistics, TaskCategory.QUERY_CACHE_REGION, "query",
+                    s -> s.getQueryRegionStatistics(TaskCategory.QUERY_CACHE_REGION)).register(registry);
+        };
+    }
+
+    private static Gauge.Builder<Statistics> hitRatioGauge(Statistics statistics, String region, String kind,
+                                                           Function<Statistics, CacheRegionStatistics> regionStatistics) {
+        return Gauge.builder(HIT_RATIO_METRIC, statistics, s -> hitRatio(regionStatistics.apply(s)))
+                .tag("region", region)
+                .tag("kind", kind)
+                .description("Share of second-level cache lookups answered from the cache");
+    }
+
+    /**
+     * Gets the share of lookups that were hits, or NaN when there was none.
+     * Query regions are created on first use, so their statistics may be missing.
+     */
+    static double hitRatio(CacheRegionStatistics statistics) {
+        if (statistics == null) {
+            return Double.NaN;
+        }
+        long lookups = statistics.getHitCount() + statistics.getMissCount();
+        return lookups == 0 ? Double.NaN : (double) statistics.getHitCount() / lookups;
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Maximum number of cache entries must be positive");
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        return configuration;
+    }
+}
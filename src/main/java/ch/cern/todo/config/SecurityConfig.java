@@ -1,19 +1,35 @@
 package ch.cern.todo.config;
 
 import ch.cern.todo.repository.UserRepository;
+import ch.cern.todo.security.AccessTokenService;
+import ch.cern.todo.security.AuthorizeTaskAdvisor;
+import ch.cern.todo.security.BearerTokenAuthenticationFilter;
+import ch.cern.todo.security.CachingAuthenticationProvider;
+import ch.cern.todo.security.CalibratedBCryptPasswordEncoder;
+import ch.cern.todo.security.LoginThrottle;
+import ch.cern.todo.security.LoginThrottleFilter;
+import ch.cern.todo.security.CachingUserDetailsService;
+import ch.cern.todo.security.TaskAuthorizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
-import java.util.stream.Collectors;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+
+import java.time.Duration;
+import java.util.Map;
 
 /**
  * Security configuration class for the Todo application.
@@ -21,9 +37,14 @@ import java.util.stream.Collectors;
  *
  * Features:
  * - HTTP Basic authentication for API endpoints
+ * - Signed bearer access tokens, checked without password hashing or database access
+ * - Stateless: no HTTP session is created or used
+ * - Sign-in throttling per username and client address after failed attempts (429)
  * - Role-based access control (USER and ADMIN roles)
+ * - Task ownership checks on methods annotated with @AuthorizeTask
  * - H2 Console security configuration
- * - BCrypt password encryption
+ * - BCrypt password encryption, cost calibrated to a time budget at startup
+ * - Short-lived cache of verified credentials in front of BCrypt
  * - Custom error handling for authentication/authorization
  *
  * Security Rules:
@@ -44,20 +65,28 @@ import java.util.stream.Collectors;
  * - ROLE_ADMIN: Full access including category management
  *
  * Authentication:
- * - Uses Basic Authentication
- * - Passwords are encrypted using BCrypt
+ * - Uses Basic Authentication, or a bearer token obtained from /api/auth/token
+ * - Passwords are encrypted using BCrypt; stored hashes are re-encoded on login
+ *   when the calibrated cost changes
+ * - Recently verified credentials are accepted without re-running BCrypt
  * - Users are stored in the H2 database
  */
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    /**
+     * Encoding ID of BCrypt hashes.
+     */
+    private static final String BCRYPT_ID = "bcrypt";
+
     /**
      * Configures the security filter chain.
      * Defines security rules, authentication requirements, and H2 Console access.
      */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, AccessTokenService accessTokenService,
+                                           LoginThrottle loginThrottle) throws Exception {
         http
                 // Disable CSRF and frameOptions for H2 Console
                 .csrf(csrf -> csrf.disable())
@@ -82,6 +111,9 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/categories/**").authenticated()
                         .anyRequest().authenticated()
                 )
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new BearerTokenAuthenticationFilter(accessTokenService), BasicAuthenticationFilter.class)
+                .addFilterBefore(new LoginThrottleFilter(loginThrottle), BasicAuthenticationFilter.class)
                 .httpBasic();
 
         return http.build();
@@ -89,38 +121,67 @@ public class SecurityConfig {
 
     /**
      * Configures the user details service.
-     * Loads user-specific data from the database and maps it to Spring Security's User model.
+     * Loads user-specific data from the database and maps it to the application's TodoUserDetails principal,
+     * keeping recently loaded users in a bounded, short-lived cache.
      *
      * Process:
-     * 1. Searches for user in database by username
-     * 2. Converts user roles to Spring Security authorities
-     * 3. Creates UserDetails object with username, password, and authorities
+     * 1. Returns a copy of the cached user, if present
+     * 2. Otherwise searches for user in database by username, fetching its roles in the same statement
+     * 3. Converts user roles to Spring Security authorities
+     * 4. Creates UserDetails object with ID, username, password, and authorities
      */
     @Bean
-    public UserDetailsService userDetailsService(UserRepository userRepository) {
-        return username -> {
-            var user = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+    public CachingUserDetailsService userDetailsService(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${todo.security.user-cache.max-entries:10000}") long maxEntries,
+            @Value("${todo.security.user-cache.ttl:PT10M}") Duration ttl) {
+        return new CachingUserDetailsService(userRepository, meterRegistry, maxEntries, ttl);
+    }
 
-            return User.builder()
-                    .username(user.getUsername())
-                    .password(user.getPassword())
-                    .authorities(user.getRoles().stream()
-                            .map(role -> {
-                                System.out.println("Adding authority: " + role);
-                                return new SimpleGrantedAuthority(role);
-                            })
-                            .collect(Collectors.toList()))
-                    .build();
-        };
+    /**
+     * Configures the authentication provider used by HTTP Basic.
+     * Verifies credentials against the user details service and password encoder,
+     * remembering successful verifications for a short time. Stored hashes not matching
+     * the current encoding are re-encoded after a successful verification.
+     */
+    @Bean
+    public CachingAuthenticationProvider authenticationProvider(
+            CachingUserDetailsService userDetailsService,
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${todo.security.auth-cache.max-entries:10000}") long maxEntries,
+            @Value("${todo.security.auth-cache.ttl:PT5M}") Duration ttl) {
+        DaoAuthenticationProvider verifier = new DaoAuthenticationProvider(passwordEncoder);
+        verifier.setUserDetailsService(userDetailsService);
+        verifier.setUserDetailsPasswordService(userDetailsService);
+        return new CachingAuthenticationProvider(verifier, meterRegistry, maxEntries, ttl);
+    }
+
+    /**
+     * Registers the advisor enforcing @AuthorizeTask on service methods.
+     * Declared static and as infrastructure, so it is available when the services are proxied.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static AuthorizeTaskAdvisor authorizeTaskAdvisor(ObjectProvider<TaskAuthorizer> taskAuthorizer) {
+        return new AuthorizeTaskAdvisor(taskAuthorizer);
     }
 
     /**
      * Configures the password encoder for secure password storage.
-     * Uses BCrypt hashing algorithm with default strength (10 rounds).
+     * Uses BCrypt with the highest strength whose verification fits the configured time
+     * budget on this machine, within bounds. New hashes are prefixed with "{bcrypt}";
+     * hashes without a prefix, as stored before, are read as BCrypt.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${todo.security.password.hash-budget:PT0.1S}") Duration budget,
+            @Value("${todo.security.password.min-strength:10}") int minStrength,
+            @Value("${todo.security.password.max-strength:16}") int maxStrength) {
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT_ID,
+                Map.of(BCRYPT_ID, CalibratedBCryptPasswordEncoder.calibrate(budget, minStrength, maxStrength)));
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return encoder;
     }
 }
@@ -0,0 +1,83 @@
+package ch.cern.todo.controller;
+
+import ch.cern.todo.dto.AccessTokenResponse;
+import ch.cern.todo.security.AccessTokenAuthentication;
+import ch.cern.todo.security.AccessTokenService;
+import ch.cern.todo.security.TodoUserDetails;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller issuing and revoking access tokens.
+ * A client exchanges its password for a short-lived token once, then sends the token
+ * instead of the password, which spares the server a password check per request.
+ *
+ * Features:
+ * - Token issue from HTTP Basic credentials
+ * - Revocation of the presented token
+ * - Signing key rotation (admin only)
+ */
+@RestController
+@RequestMapping("/api/auth")
+public class AuthController {
+
+    /**
+     * Service signing and verifying tokens.
+     */
+    private final AccessTokenService accessTokenService;
+
+    /**
+     * Constructs AuthController with required service.
+     */
+    public AuthController(AccessTokenService accessTokenService) {
+        if (accessTokenService == null) {
+            throw new IllegalArgumentException("AccessTokenService cannot be null");
+        }
+        this.accessTokenService = accessTokenService;
+    }
+
+    /**
+     * Issues an access token to a caller authenticated with username and password.
+     * A token cannot be used to obtain another one, so a stolen token cannot be kept alive.
+     */
+    @PostMapping("/token")
+    public ResponseEntity<AccessTokenResponse> issueToken(Authentication authentication) {
+        if (authentication instanceof AccessTokenAuthentication
+                || !(authentication.getPrincipal() instanceof TodoUserDetails user)) {
+            throw new AccessDeniedException("Tokens are only issued for a username and password");
+        }
+        AccessTokenService.IssuedToken issued = accessTokenService.issue(user);
+        return ResponseEntity.ok(new AccessTokenResponse(issued.token(),
+                accessTokenService.getTtl().toSeconds()));
+    }
+
+    /**
+     * Revokes the access token the request was authenticated with.
+     */
+    @PostMapping("/revoke")
+    public ResponseEntity<Void> revokeToken(Authentication authentication) {
+        if (!(authentication instanceof AccessTokenAuthentication token)) {
+            throw new IllegalArgumentException("Request was not authenticated with an access token");
+        }
+        accessTokenService.revoke(token.getClaims());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Starts signing tokens with a new key. Tokens signed with the previous key stay valid
+     * until they expire. Admin only.
+     */
+    @PostMapping("/keys/rotate")
+    public ResponseEntity<Void> rotateKeys(Authentication authentication) {
+        if (authentication.getAuthorities().stream()
+                .noneMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()))) {
+            throw new AccessDeniedException("Access denied");
+        }
+        accessTokenService.rotateKeys();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,15 +1,34 @@
 package ch.cern.todo.controller;
 
+import ch.cern.todo.dto.TaskBulkRequest;
+import ch.cern.todo.dto.TaskBulkResult;
+import ch.cern.todo.dto.TaskFullTextHit;
+import ch.cern.todo.dto.TaskFuzzyHit;
+import ch.cern.todo.dto.TaskImportResult;
+import ch.cern.todo.dto.TaskResponseDTO;
+import ch.cern.todo.dto.TaskSearchCriteria;
+import ch.cern.todo.dto.TaskSearchPage;
 import ch.cern.todo.model.Task;
+import ch.cern.todo.service.TaskImportService;
 import ch.cern.todo.service.TaskService;
+import ch.cern.todo.service.SecurityService;
 import ch.cern.todo.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.security.Principal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -22,46 +41,99 @@ import java.util.List;
  * - Task creation and management
  * - Security integration
  * - Search functionality
+ * - DTO responses for read endpoints
+ * - Streaming NDJSON export of search results
+ * - Ranked full-text search
+ * - Task name autocomplete
+ * - Typo-tolerant task name search
+ * - Bulk import from NDJSON or CSV
+ * - Bulk update and deletion by ID list or search filter
  * - Role-based access control
  */
 @RestController
 @RequestMapping("/api/tasks")
 public class TaskController {
 
+    /**
+     * Response header naming the predicate shape of a search.
+     */
+    static final String SEARCH_SHAPE_HEADER = "X-Search-Shape";
+
+    /**
+     * Response header naming the index a search shape is served by.
+     */
+    static final String SEARCH_INDEX_HEADER = "X-Search-Index";
+
+    /**
+     * Newline-delimited JSON, one task per line.
+     */
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    /**
+     * Comma-separated values with a header row.
+     */
+    static final String TEXT_CSV_VALUE = "text/csv";
+
     private final TaskService taskService;
+    private final TaskImportService taskImportService;
     private final UserService userService;
+    private final SecurityService securityService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Constructs TaskController with required services.
      */
-    public TaskController(TaskService taskService, UserService userService) {
+    public TaskController(TaskService taskService, TaskImportService taskImportService, UserService userService,
+                          SecurityService securityService, ObjectMapper objectMapper) {
         this.taskService = taskService;
+        this.taskImportService = taskImportService;
         this.userService = userService;
+        this.securityService = securityService;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Creates a new task for the authenticated user.
+     * The owner is set from the principal's user ID without loading the user, and the
+     * response is built from the saved task, with its stored category, and the principal,
+     * so no owner is serialized.
      */
     @PostMapping
-    public ResponseEntity<Task> createTask(@RequestBody Task task, Authentication authentication) {
-        task.setUser(userService.getCurrentUser(authentication));
-        return ResponseEntity.ok(taskService.createTask(task));
+    public ResponseEntity<TaskResponseDTO> createTask(@RequestBody Task task, Authentication authentication) {
+        task.setUser(userService.getCurrentUserReference(authentication));
+        Task saved = taskService.createTask(task, authentication.getName());
+        String categoryName = saved.getCategory() != null ? saved.getCategory().getCategoryName() : null;
+        return ResponseEntity.ok(new TaskResponseDTO(saved.getTaskId(), saved.getTaskName(),
+                saved.getTaskDescription(), saved.getDeadline(), categoryName, authentication.getName()));
+    }
+
+    /**
+     * Creates many tasks for the authenticated user from an uploaded file.
+     * The body is NDJSON (one task object per line) or CSV with a header row; fields are
+     * taskName, taskDescription, deadline and categoryId or categoryName. The file is read
+     * as it arrives and saved in chunks; invalid rows are reported by line and skipped.
+     */
+    @PostMapping(value = "/bulk", consumes = {APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    public ResponseEntity<TaskImportResult> importTasks(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                        InputStream body, Authentication authentication)
+            throws IOException {
+        TaskImportService.Format format = MediaType.valueOf(TEXT_CSV_VALUE).isCompatibleWith(contentType)
+                ? TaskImportService.Format.CSV
+                : TaskImportService.Format.NDJSON;
+        return ResponseEntity.ok(taskImportService.importTasks(body, format, authentication));
     }
 
     /**
      * Retrieves a specific task by ID.
-     * Verifies that the requesting user has permission to access the task.
+     * Verifies that the requesting user has permission to access the task before loading it.
      */
     @GetMapping("/{taskId}")
-    public ResponseEntity<Task> getTask(@PathVariable Long taskId, Principal principal) {
-        Task task = taskService.getTask(taskId);
-
-        if (!task.getUser().getUsername().equals(principal.getName()) &&
-                !hasRole(principal, "ROLE_ADMIN")) {
+    public ResponseEntity<TaskResponseDTO> getTask(@PathVariable Long taskId, Authentication authentication) {
+        if (!securityService.hasAccessToTask(taskId, authentication)) {
             throw new AccessDeniedException("Access denied");
         }
 
-        return ResponseEntity.ok(task);
+        return ResponseEntity.ok(taskService.getTaskResponse(taskId));
     }
 
     /**
@@ -75,19 +147,6 @@ public class TaskController {
         return false;
     }
 
-    /**
-     * Alternative endpoint for retrieving a task by ID.
-     * Handles access denied scenarios gracefully.
-     */
-    @GetMapping("/{id}")
-    public ResponseEntity<Task> getTask(@PathVariable Long id) {
-        try {
-            return ResponseEntity.ok(taskService.getTask(id));
-        } catch (AccessDeniedException e) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-        }
-    }
-
     /**
      * Updates an existing task.
      */
@@ -105,17 +164,173 @@ public class TaskController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Deletes many tasks at once, selected by "taskIds" or by a search "filter".
+     * Regular users only delete their own tasks; IDs of other tasks are skipped.
+     */
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<TaskBulkResult> bulkDelete(@RequestBody TaskBulkRequest request,
+                                                     Authentication authentication) {
+        return ResponseEntity.ok(taskService.bulkDelete(request, authentication));
+    }
+
+    /**
+     * Moves many tasks to the category "categoryId" and/or sets their "deadline", selected
+     * by "taskIds" or by a search "filter". Regular users only change their own tasks.
+     */
+    @PostMapping("/bulk-update")
+    public ResponseEntity<TaskBulkResult> bulkUpdate(@RequestBody TaskBulkRequest request,
+                                                     Authentication authentication) {
+        return ResponseEntity.ok(taskService.bulkUpdate(request, authentication));
+    }
+
     /**
      * Searches for tasks based on multiple criteria.
      * All parameters are optional and can be combined.
+     * deadline matches a whole calendar day; deadlineFrom (inclusive) and
+     * deadlineTo (exclusive) select an arbitrary range, e.g. "due this week".
+     * Results are paged with an opaque cursor; the next page is linked from the
+     * response body and from the Link header. The predicate shape and the index it
+     * is served by are reported in the X-Search-Shape and X-Search-Index headers.
+     * With facets=true the response also counts all matches per category and per
+     * deadline bucket, and per owner for admins; counts are the same on every page.
      */
     @GetMapping("/search")
-    public ResponseEntity<List<Task>> searchTasks(
+    public ResponseEntity<TaskSearchPage> searchTasks(
             @RequestParam(required = false) String username,
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String description,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime deadline,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime deadlineFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime deadlineTo,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean facets,
+            Authentication authentication) {
+        TaskSearchCriteria criteria = buildCriteria(username, name, description,
+                deadline, deadlineFrom, deadlineTo, categoryId);
+        boolean byOwner = facets && hasRole(authentication, "ROLE_ADMIN");
+        TaskSearchPage page = taskService.searchTasks(criteria, cursor, size, facets, byOwner);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getPlan() != null) {
+            response.header(SEARCH_SHAPE_HEADER, page.getPlan().getLabel())
+                    .header(SEARCH_INDEX_HEADER, page.getPlan().getIndex());
+        }
+        if (page.getNextCursor() != null) {
+            page.setNext(ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.getNextCursor())
+                    .toUriString());
+            response.header(HttpHeaders.LINK, "<" + page.getNext() + ">; rel=\"next\"");
+        }
+        return response.body(page);
+    }
+
+    /**
+     * Ranked full-text search over task names, descriptions and category names.
+     * Words are matched by stem ("meeting" finds "meetings"); quoted phrases, "+" (must),
+     * "-" (must not) and trailing "*" (prefix) are supported. Regular users only see
+     * their own tasks; admins see all tasks.
+     */
+    @GetMapping("/fulltext")
+    public ResponseEntity<List<TaskFullTextHit>> fullTextSearch(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication) {
+        String owner = hasRole(authentication, "ROLE_ADMIN") ? null : authentication.getName();
+        return ResponseEntity.ok(taskService.fullTextSearch(q, owner, size));
+    }
+
+    /**
+     * Suggests names of the caller's own tasks starting with the given prefix,
+     * most used first. Meant to be called on every keystroke.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<String>> suggestTaskNames(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication) {
+        return ResponseEntity.ok(taskService.suggestTaskNames(authentication.getName(), prefix, size));
+    }
+
+    /**
+     * Finds the caller's own tasks whose names match the query despite typos, closest first.
+     * {@code distance} caps the number of typos per word (0 to 2, default 2).
+     */
+    @GetMapping("/fuzzy")
+    public ResponseEntity<List<TaskFuzzyHit>> fuzzySearch(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer distance,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication) {
+        return ResponseEntity.ok(taskService.fuzzySearch(authentication.getName(), q, distance, size));
+    }
+
+    /**
+     * Rebuilds the full-text index from the database without interrupting searches.
+     * Admin only. Answers 202 when a rebuild was started and 409 when one is already running.
+     */
+    @PostMapping("/fulltext/reindex")
+    public ResponseEntity<Void> reindexFullText(Authentication authentication) {
+        if (!hasRole(authentication, "ROLE_ADMIN")) {
+            throw new AccessDeniedException("Access denied");
+        }
+        return taskService.reindexFullText()
+                ? ResponseEntity.accepted().build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    /**
+     * Streams all tasks matching the search criteria as newline-delimited JSON.
+     * Selected with "Accept: application/x-ndjson" on the search endpoint. Tasks are
+     * written as they are read from the database, so the first line is sent before the
+     * last row is fetched and the server never holds the whole result. The export is
+     * written asynchronously and may take up to spring.mvc.async.request-timeout.
+     */
+    @GetMapping(value = "/search", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTasks(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String description,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime deadline,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime deadlineFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime deadlineTo,
             @RequestParam(required = false) Long categoryId) {
-        return ResponseEntity.ok(taskService.searchTasks(username, name, description, deadline, categoryId));
+        TaskSearchCriteria criteria = buildCriteria(username, name, description,
+                deadline, deadlineFrom, deadlineTo, categoryId);
+        // Fail before the response is committed rather than halfway through the stream
+        criteria.validate();
+
+        StreamingResponseBody body = out -> taskService.streamTasks(criteria, task -> writeLine(out, task));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    /**
+     * Writes one task as a JSON line.
+     */
+    private void writeLine(OutputStream out, TaskResponseDTO task) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(task));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static TaskSearchCriteria buildCriteria(String username, String name, String description,
+                                                    LocalDateTime deadline, LocalDateTime deadlineFrom,
+                                                    LocalDateTime deadlineTo, Long categoryId) {
+        return TaskSearchCriteria.builder()
+                .username(username)
+                .name(name)
+                .description(description)
+                .deadline(deadline)
+                .deadlineFrom(deadlineFrom)
+                .deadlineTo(deadlineTo)
+                .categoryId(categoryId)
+                .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package ch.cern.todo.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Data Transfer Object (DTO) for an issued access token.
+ * Follows the OAuth 2.0 token response field names, so standard clients can read it.
+ *
+ * Features:
+ * - Signed bearer token
+ * - Lifetime in seconds
+ */
+public class AccessTokenResponse {
+
+    private static final String BEARER = "Bearer";
+
+    /**
+     * The signed token, sent back as "Authorization: Bearer ...".
+     */
+    private String accessToken;
+
+    /**
+     * The token type; always "Bearer".
+     */
+    private String tokenType = BEARER;
+
+    /**
+     * Seconds until the token expires.
+     */
+    private long expiresIn;
+
+    /**
+     * Default constructor.
+     */
+    public AccessTokenResponse() {
+    }
+
+    /**
+     * Constructs a response for a token and its lifetime.
+     */
+    public AccessTokenResponse(String accessToken, long expiresIn) {
+        if (accessToken == null) {
+            throw new IllegalArgumentException("Access token cannot be null");
+        }
+        this.accessToken = accessToken;
+        this.expiresIn = expiresIn;
+    }
+
+    /**
+     * Gets the signed token.
+     */
+    @JsonProperty("access_token")
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    /**
+     * Sets the signed token.
+     */
+    public void setAccessToken(String accessToken) {
+        this.accessToken = accessToken;
+    }
+
+    /**
+     * Gets the token type.
+     */
+    @JsonProperty("token_type")
+    public String getTokenType() {
+        return tokenType;
+    }
+
+    /**
+     * Sets the token type.
+     */
+    public void setTokenType(String tokenType) {
+        this.tokenType = tokenType;
+    }
+
+    /**
+     * Gets the seconds until the token expires.
+     */
+    @JsonProperty("expires_in")
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+
+    /**
+     * Sets the seconds until the token expires.
+     */
+    public void setExpiresIn(long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+
+    /**
+     * Returns a string representation of the response, without the token itself.
+     */
+    @Override
+    public String toString() {
+        return "AccessTokenResponse{" +
+                "tokenType='" + tokenType + '\'' +
+                ", expiresIn=" + expiresIn +
+                '}';
+    }
+}
@@ -0,0 +1,112 @@
+package ch.cern.todo.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for a bulk update or delete of tasks.
+ * Tasks are selected either by ID or by the filter of the task search, never both.
+ * Regular users only ever reach their own tasks; admins reach all tasks.
+ *
+ * Features:
+ * - Selection by task ID list
+ * - Selection by search filter (username, name, description, deadline range, category)
+ * - New category and/or deadline, for updates
+ */
+public class TaskBulkRequest {
+
+    /**
+     * IDs of the tasks to change.
+     */
+    private List<Long> taskIds;
+
+    /**
+     * Search filter selecting the tasks to change.
+     */
+    private TaskSearchCriteria filter;
+
+    /**
+     * Category to move the tasks to; updates only.
+     */
+    private Long categoryId;
+
+    /**
+     * Deadline to set on the tasks; updates only.
+     */
+    private LocalDateTime deadline;
+
+    /**
+     * Default constructor.
+     */
+    public TaskBulkRequest() {
+    }
+
+    /**
+     * Gets the selected task IDs.
+     */
+    public List<Long> getTaskIds() {
+        return taskIds;
+    }
+
+    /**
+     * Sets the selected task IDs.
+     */
+    public void setTaskIds(List<Long> taskIds) {
+        this.taskIds = taskIds;
+    }
+
+    /**
+     * Gets the selecting search filter.
+     */
+    public TaskSearchCriteria getFilter() {
+        return filter;
+    }
+
+    /**
+     * Sets the selecting search filter.
+     */
+    public void setFilter(TaskSearchCriteria filter) {
+        this.filter = filter;
+    }
+
+    /**
+     * Gets the category to move the tasks to.
+     */
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    /**
+     * Sets the category to move the tasks to.
+     */
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    /**
+     * Gets the deadline to set.
+     */
+    public LocalDateTime getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Sets the deadline to set.
+     */
+    public void setDeadline(LocalDateTime deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Returns a string representation of the request.
+     */
+    @Override
+    public String toString() {
+        return "TaskBulkRequest{" +
+                "taskIds=" + (taskIds != null ? taskIds.size() + " ids" : "null") +
+                ", filter=" + filter +
+                ", categoryId=" + categoryId +
+                ", deadline=" + deadline +
+                '}';
+    }
+}
@@ -0,0 +1,96 @@
+package ch.cern.todo.dto;
+
+/**
+ * Data Transfer Object (DTO) for the outcome of a bulk update or delete.
+ *
+ * Features:
+ * - Number of tasks selected
+ * - Number of tasks actually changed
+ * - Number of requested IDs skipped as missing or not accessible
+ */
+public class TaskBulkResult {
+
+    /**
+     * Number of tasks selected by the request and accessible to the caller.
+     */
+    private long matched;
+
+    /**
+     * Number of tasks changed or deleted.
+     */
+    private long affected;
+
+    /**
+     * Number of requested task IDs the caller may not change; always 0 for filters.
+     */
+    private long skipped;
+
+    /**
+     * Default constructor.
+     */
+    public TaskBulkResult() {
+    }
+
+    /**
+     * Constructs a result from its counts.
+     */
+    public TaskBulkResult(long matched, long affected, long skipped) {
+        this.matched = matched;
+        this.affected = affected;
+        this.skipped = skipped;
+    }
+
+    /**
+     * Gets the number of tasks selected.
+     */
+    public long getMatched() {
+        return matched;
+    }
+
+    /**
+     * Sets the number of tasks selected.
+     */
+    public void setMatched(long matched) {
+        this.matched = matched;
+    }
+
+    /**
+     * Gets the number of tasks changed.
+     */
+    public long getAffected() {
+        return affected;
+    }
+
+    /**
+     * Sets the number of tasks changed.
+     */
+    public void setAffected(long affected) {
+        this.affected = affected;
+    }
+
+    /**
+     * Gets the number of skipped task IDs.
+     */
+    public long getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Sets the number of skipped task IDs.
+     */
+    public void setSkipped(long skipped) {
+        this.skipped = skipped;
+    }
+
+    /**
+     * Returns a string representation of the result.
+     */
+    @Override
+    public String toString() {
+        return "TaskBulkResult{" +
+                "matched=" + matched +
+                ", affected=" + affected +
+                ", skipped=" + skipped +
+                '}';
+    }
+}
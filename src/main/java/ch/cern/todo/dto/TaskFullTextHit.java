@@ -0,0 +1,76 @@
+package ch.cern.todo.dto;
+
+/**
+ * Data Transfer Object (DTO) for one ranked result of a full-text task search.
+ * Built entirely from the fields stored in the full-text index, so serving a
+ * search does not touch the database.
+ *
+ * Features:
+ * - Task details as returned by other task endpoints
+ * - BM25 relevance score
+ */
+public class TaskFullTextHit {
+
+    /**
+     * The matching task.
+     */
+    private TaskResponseDTO task;
+
+    /**
+     * Relevance of the task for the query; higher is better.
+     */
+    private float score;
+
+    /**
+     * Default constructor.
+     */
+    public TaskFullTextHit() {
+    }
+
+    /**
+     * Constructs a hit from a task and its score.
+     */
+    public TaskFullTextHit(TaskResponseDTO task, float score) {
+        this.task = task;
+        this.score = score;
+    }
+
+    /**
+     * Gets the matching task.
+     */
+    public TaskResponseDTO getTask() {
+        return task;
+    }
+
+    /**
+     * Sets the matching task.
+     */
+    public void setTask(TaskResponseDTO task) {
+        this.task = task;
+    }
+
+    /**
+     * Gets the relevance score.
+     */
+    public float getScore() {
+        return score;
+    }
+
+    /**
+     * Sets the relevance score.
+     */
+    public void setScore(float score) {
+        this.score = score;
+    }
+
+    /**
+     * Returns a string representation of the hit.
+     */
+    @Override
+    public String toString() {
+        return "TaskFullTextHit{" +
+                "taskId=" + (task != null ? task.getTaskId() : null) +
+                ", score=" + score +
+                '}';
+    }
+}
@@ -0,0 +1,74 @@
+package ch.cern.todo.dto;
+
+/**
+ * Data Transfer Object (DTO) for one ranked result of a typo-tolerant task name search.
+ *
+ * Features:
+ * - Task details as returned by other task endpoints
+ * - Edit distance between the query and the task name
+ */
+public class TaskFuzzyHit {
+
+    /**
+     * The matching task.
+     */
+    private TaskResponseDTO task;
+
+    /**
+     * Total edit distance of the query words to the task name; 0 is an exact match.
+     */
+    private int distance;
+
+    /**
+     * Default constructor.
+     */
+    public TaskFuzzyHit() {
+    }
+
+    /**
+     * Constructs a hit from a task and its distance.
+     */
+    public TaskFuzzyHit(TaskResponseDTO task, int distance) {
+        this.task = task;
+        this.distance = distance;
+    }
+
+    /**
+     * Gets the matching task.
+     */
+    public TaskResponseDTO getTask() {
+        return task;
+    }
+
+    /**
+     * Sets the matching task.
+     */
+    public void setTask(TaskResponseDTO task) {
+        this.task = task;
+    }
+
+    /**
+     * Gets the edit distance.
+     */
+    public int getDistance() {
+        return distance;
+    }
+
+    /**
+     * Sets the edit distance.
+     */
+    public void setDistance(int distance) {
+        this.distance = distance;
+    }
+
+    /**
+     * Returns a string representation of the hit.
+     */
+    @Override
+    public String toString() {
+        return "TaskFuzzyHit{" +
+                "taskId=" + (task != null ? task.getTaskId() : null) +
+                ", distance=" + distance +
+                '}';
+    }
+}
@@ -0,0 +1,74 @@
+package ch.cern.todo.dto;
+
+/**
+ * Data Transfer Object (DTO) for one rejected row of a bulk import.
+ *
+ * Features:
+ * - Line number in the uploaded file (1-based; for CSV, the line the record starts on)
+ * - Reason for the rejection
+ */
+public class TaskImportError {
+
+    /**
+     * Line of the rejected row.
+     */
+    private long line;
+
+    /**
+     * Why the row was rejected.
+     */
+    private String message;
+
+    /**
+     * Default constructor.
+     */
+    public TaskImportError() {
+    }
+
+    /**
+     * Constructs an error for a line.
+     */
+    public TaskImportError(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    /**
+     * Gets the line number.
+     */
+    public long getLine() {
+        return line;
+    }
+
+    /**
+     * Sets the line number.
+     */
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    /**
+     * Gets the rejection reason.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Sets the rejection reason.
+     */
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Returns a string representation of the error.
+     */
+    @Override
+    public String toString() {
+        return "TaskImportError{" +
+                "line=" + line +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,89 @@
+package ch.cern.todo.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for the outcome of a bulk import.
+ *
+ * Features:
+ * - Number of imported and of rejected rows
+ * - Per-line rejection reasons, up to a configured number
+ */
+public class TaskImportResult {
+
+    /**
+     * Number of tasks created.
+     */
+    private long imported;
+
+    /**
+     * Number of rows rejected.
+     */
+    private long rejected;
+
+    /**
+     * Rejected rows in file order; may be shorter than the rejected count.
+     */
+    private List<TaskImportError> errors = new ArrayList<>();
+
+    /**
+     * Default constructor.
+     */
+    public TaskImportResult() {
+    }
+
+    /**
+     * Gets the number of tasks created.
+     */
+    public long getImported() {
+        return imported;
+    }
+
+    /**
+     * Sets the number of tasks created.
+     */
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    /**
+     * Gets the number of rows rejected.
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Sets the number of rows rejected.
+     */
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    /**
+     * Gets the reported rejections.
+     */
+    public List<TaskImportError> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Sets the reported rejections.
+     */
+    public void setErrors(List<TaskImportError> errors) {
+        this.errors = errors != null ? errors : new ArrayList<>();
+    }
+
+    /**
+     * Returns a string representation of the result.
+     */
+    @Override
+    public String toString() {
+        return "TaskImportResult{" +
+                "imported=" + imported +
+                ", rejected=" + rejected +
+                ", errors=" + errors.size() +
+                '}';
+    }
+}
@@ -0,0 +1,115 @@
+package ch.cern.todo.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) for one task of a bulk import, as read from an NDJSON line
+ * or a CSV record.
+ *
+ * Features:
+ * - Task details without owner; imported tasks belong to the caller
+ * - Category given by ID or by name
+ */
+public class TaskImportRow {
+
+    /**
+     * Name of the task.
+     */
+    private String taskName;
+
+    /**
+     * Optional description of the task.
+     */
+    private String taskDescription;
+
+    /**
+     * Deadline of the task, e.g. 2025-06-30T17:00:00.
+     */
+    private LocalDateTime deadline;
+
+    /**
+     * ID of the task's category; takes precedence over the name.
+     */
+    private Long categoryId;
+
+    /**
+     * Name of the task's category, used when no ID is given.
+     */
+    private String categoryName;
+
+    /**
+     * Default constructor.
+     */
+    public TaskImportRow() {
+    }
+
+    /**
+     * Gets the task name.
+     */
+    public String getTaskName() {
+        return taskName;
+    }
+
+    /**
+     * Sets the task name.
+     */
+    public void setTaskName(String taskName) {
+        this.taskName = taskName;
+    }
+
+    /**
+     * Gets the task description.
+     */
+    public String getTaskDescription() {
+        return taskDescription;
+    }
+
+    /**
+     * Sets the task description.
+     */
+    public void setTaskDescription(String taskDescription) {
+        this.taskDescription = taskDescription;
+    }
+
+    /**
+     * Gets the deadline.
+     */
+    public LocalDateTime getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Sets the deadline.
+     */
+    public void setDeadline(LocalDateTime deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Gets the category ID.
+     */
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    /**
+     * Sets the category ID.
+     */
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    /**
+     * Gets the category name.
+     */
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    /**
+     * Sets the category name.
+     */
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+}
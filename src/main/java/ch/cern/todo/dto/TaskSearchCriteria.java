@@ -0,0 +1,366 @@
+package ch.cern.todo.dto;
+
+import ch.cern.todo.exception.InvalidSearchCriteriaException;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Search criteria for task queries in the Todo application.
+ * Groups the optional filters of a task search so they can be normalized once
+ * and passed around as a single value.
+ *
+ * Features:
+ * - All filters optional
+ * - Half-open deadline range [deadlineFrom, deadlineTo)
+ * - Single-day deadline filter expressed as a range
+ * - Internal task ID restriction resolved from in-memory indexes
+ * - Builder pattern
+ */
+public class TaskSearchCriteria {
+
+    /**
+     * Username of the task owner.
+     */
+    private String username;
+
+    /**
+     * Substring of the task name.
+     */
+    private String name;
+
+    /**
+     * Substring of the task description.
+     */
+    private String description;
+
+    /**
+     * Any point in time on the calendar day the deadline must fall on.
+     */
+    private LocalDateTime deadline;
+
+    /**
+     * Inclusive lower bound of the deadline.
+     */
+    private LocalDateTime deadlineFrom;
+
+    /**
+     * Exclusive upper bound of the deadline.
+     */
+    private LocalDateTime deadlineTo;
+
+    /**
+     * ID of the task category.
+     */
+    private Long categoryId;
+
+    /**
+     * Restriction to a known set of task IDs.
+     * Never bound from the request; set when a filter has been resolved in memory.
+     */
+    private Set<Long> taskIds;
+
+    /**
+     * Default constructor.
+     */
+    public TaskSearchCriteria() {
+    }
+
+    /**
+     * Gets the owner username filter.
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Sets the owner username filter.
+     */
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    /**
+     * Gets the task name filter.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the task name filter.
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the task description filter.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Sets the task description filter.
+     */
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Gets the single-day deadline filter.
+     */
+    public LocalDateTime getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Sets the single-day deadline filter.
+     */
+    public void setDeadline(LocalDateTime deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Gets the inclusive lower deadline bound.
+     */
+    public LocalDateTime getDeadlineFrom() {
+        return deadlineFrom;
+    }
+
+    /**
+     * Sets the inclusive lower deadline bound.
+     */
+    public void setDeadlineFrom(LocalDateTime deadlineFrom) {
+        this.deadlineFrom = deadlineFrom;
+    }
+
+    /**
+     * Gets the exclusive upper deadline bound.
+     */
+    public LocalDateTime getDeadlineTo() {
+        return deadlineTo;
+    }
+
+    /**
+     * Sets the exclusive upper deadline bound.
+     */
+    public void setDeadlineTo(LocalDateTime deadlineTo) {
+        this.deadlineTo = deadlineTo;
+    }
+
+    /**
+     * Gets the category filter.
+     */
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    /**
+     * Sets the category filter.
+     */
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    /**
+     * Gets the task ID restriction, or null when unrestricted.
+     */
+    public Set<Long> getTaskIds() {
+        return taskIds;
+    }
+
+    /**
+     * Sets the task ID restriction.
+     */
+    public void setTaskIds(Set<Long> taskIds) {
+        this.taskIds = taskIds != null ? Collections.unmodifiableSet(taskIds) : null;
+    }
+
+    /**
+     * Checks whether any request filter is set; the internal task ID restriction does not count.
+     */
+    public boolean hasFilters() {
+        return hasText(username) || hasText(name) || hasText(description)
+                || deadline != null || deadlineFrom != null || deadlineTo != null || categoryId != null;
+    }
+
+    /**
+     * Checks whether the criteria are known to match nothing.
+     */
+    public boolean isUnsatisfiable() {
+        return taskIds != null && taskIds.isEmpty();
+    }
+
+    /**
+     * Creates a copy of these criteria.
+     */
+    public TaskSearchCriteria copy() {
+        TaskSearchCriteria copy = new TaskSearchCriteria();
+        copy.username = username;
+        copy.name = name;
+        copy.description = description;
+        copy.deadline = deadline;
+        copy.deadlineFrom = deadlineFrom;
+        copy.deadlineTo = deadlineTo;
+        copy.categoryId = categoryId;
+        copy.taskIds = taskIds;
+        return copy;
+    }
+
+    /**
+     * Gets the effective inclusive lower deadline bound.
+     * Combines the explicit range with the single-day filter, keeping the tighter bound.
+     */
+    public LocalDateTime getEffectiveDeadlineFrom() {
+        LocalDateTime dayStart = deadline != null ? deadline.toLocalDate().atStartOfDay() : null;
+        return later(deadlineFrom, dayStart);
+    }
+
+    /**
+     * Gets the effective exclusive upper deadline bound.
+     * Combines the explicit range with the single-day filter, keeping the tighter bound.
+     */
+    public LocalDateTime getEffectiveDeadlineTo() {
+        LocalDateTime nextDayStart = deadline != null ? deadline.toLocalDate().plusDays(1).atStartOfDay() : null;
+        return earlier(deadlineTo, nextDayStart);
+    }
+
+    /**
+     * Validates the criteria for consistency.
+     */
+    public void validate() {
+        if (deadlineFrom != null && deadlineTo != null && !deadlineFrom.isBefore(deadlineTo)) {
+            throw new InvalidSearchCriteriaException("deadlineFrom must be before deadlineTo");
+        }
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static LocalDateTime later(LocalDateTime a, LocalDateTime b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDateTime earlier(LocalDateTime a, LocalDateTime b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isBefore(b) ? a : b;
+    }
+
+    /**
+     * Returns a string representation of the criteria.
+     */
+    @Override
+    public String toString() {
+        return "TaskSearchCriteria{" +
+                "username='" + username + '\'' +
+                ", name='" + name + '\'' +
+                ", description='" + description + '\'' +
+                ", deadline=" + deadline +
+                ", deadlineFrom=" + deadlineFrom +
+                ", deadlineTo=" + deadlineTo +
+                ", categoryId=" + categoryId +
+                ", taskIds=" + (taskIds != null ? taskIds.size() + " ids" : "null") +
+                '}';
+    }
+
+    /**
+     * Checks equality between these criteria and another object.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TaskSearchCriteria)) return false;
+        TaskSearchCriteria that = (TaskSearchCriteria) o;
+        return Objects.equals(username, that.username) &&
+                Objects.equals(name, that.name) &&
+                Objects.equals(description, that.description) &&
+                Objects.equals(deadline, that.deadline) &&
+                Objects.equals(deadlineFrom, that.deadlineFrom) &&
+                Objects.equals(deadlineTo, that.deadlineTo) &&
+                Objects.equals(categoryId, that.categoryId) &&
+                Objects.equals(taskIds, that.taskIds);
+    }
+
+    /**
+     * Generates a hash code for these criteria.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(username, name, description, deadline, deadlineFrom, deadlineTo, categoryId, taskIds);
+    }
+
+    /**
+     * Creates a builder for TaskSearchCriteria.
+     */
+    public static TaskSearchCriteriaBuilder builder() {
+        return new TaskSearchCriteriaBuilder();
+    }
+
+    /**
+     * Builder class for creating TaskSearchCriteria instances.
+     */
+    public static class TaskSearchCriteriaBuilder {
+        private String username;
+        private String name;
+        private String description;
+        private LocalDateTime deadline;
+        private LocalDateTime deadlineFrom;
+        private LocalDateTime deadlineTo;
+        private Long categoryId;
+
+        public TaskSearchCriteriaBuilder username(String username) {
+            this.username = username;
+            return this;
+        }
+
+        public TaskSearchCriteriaBuilder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public TaskSearchCriteriaBuilder description(String description) {
+            this.description = description;
+            return this;
+        }
+
+        public TaskSearchCriteriaBuilder deadline(LocalDateTime deadline) {
+            this.deadline = deadline;
+            return this;
+        }
+
+        public TaskSearchCriteriaBuilder deadlineFrom(LocalDateTime deadlineFrom) {
+            this.deadlineFrom = deadlineFrom;
+            return this;
+        }
+
+        public TaskSearchCriteriaBuilder deadlineTo(LocalDateTime deadlineTo) {
+            this.deadlineTo = deadlineTo;
+            return this;
+        }
+
+        public TaskSearchCriteriaBuilder categoryId(Long categoryId) {
+            this.categoryId = categoryId;
+            return this;
+        }
+
+        public TaskSearchCriteria build() {
+            TaskSearchCriteria criteria = new TaskSearchCriteria();
+            criteria.setUsername(username);
+            criteria.setName(name);
+            criteria.setDescription(description);
+            criteria.setDeadline(deadline);
+            criteria.setDeadlineFrom(deadlineFrom);
+            criteria.setDeadlineTo(deadlineTo);
+            criteria.setCategoryId(categoryId);
+            return criteria;
+        }
+    }
+}
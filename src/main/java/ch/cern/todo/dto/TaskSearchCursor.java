@@ -0,0 +1,126 @@
+package ch.cern.todo.dto;
+
+import ch.cern.todo.exception.InvalidSearchCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Continuation token for keyset (seek) pagination of task searches.
+ * A cursor identifies the last row of a page by its sort key, so the next page
+ * is fetched with a range predicate instead of an OFFSET.
+ *
+ * Features:
+ * - Sort key made of (deadline, taskId)
+ * - Opaque URL-safe encoding
+ * - Versioned format
+ */
+public final class TaskSearchCursor {
+
+    /**
+     * Format version prefix of the encoded token.
+     */
+    private static final String VERSION = "v1";
+
+    /**
+     * Separator between the encoded fields.
+     */
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Deadline of the last task returned on the previous page.
+     */
+    private final LocalDateTime deadline;
+
+    /**
+     * ID of the last task returned on the previous page.
+     */
+    private final Long taskId;
+
+    /**
+     * Constructs a cursor positioned after the given sort key.
+     */
+    public TaskSearchCursor(LocalDateTime deadline, Long taskId) {
+        if (deadline == null || taskId == null) {
+            throw new IllegalArgumentException("Cursor deadline and task ID cannot be null");
+        }
+        this.deadline = deadline;
+        this.taskId = taskId;
+    }
+
+    /**
+     * Gets the deadline of the last seen task.
+     */
+    public LocalDateTime getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Gets the ID of the last seen task.
+     */
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    /**
+     * Encodes this cursor into an opaque URL-safe token.
+     */
+    public String encode() {
+        String raw = VERSION + SEPARATOR + deadline + SEPARATOR + taskId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     * Returns null for a missing or blank token, meaning "first page".
+     */
+    public static TaskSearchCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new InvalidSearchCursorException(token);
+            }
+            return new TaskSearchCursor(LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidSearchCursorException(token);
+        }
+    }
+
+    /**
+     * Checks equality between this cursor and another object.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TaskSearchCursor)) return false;
+        TaskSearchCursor that = (TaskSearchCursor) o;
+        return deadline.equals(that.deadline) && taskId.equals(that.taskId);
+    }
+
+    /**
+     * Generates a hash code for this cursor.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(deadline, taskId);
+    }
+
+    /**
+     * Returns a string representation of the cursor.
+     */
+    @Override
+    public String toString() {
+        return "TaskSearchCursor{" +
+                "deadline=" + deadline +
+                ", taskId=" + taskId +
+                '}';
+    }
+}
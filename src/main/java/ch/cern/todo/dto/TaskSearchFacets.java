@@ -0,0 +1,179 @@
+package ch.cern.todo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Data Transfer Object (DTO) for facet counts of a task search.
+ * Counts cover every task matching the search filters, not just the returned page,
+ * so they are identical on every page of the same search.
+ *
+ * Features:
+ * - Task counts per category ID
+ * - Task counts per owner username (admins only)
+ * - Task counts per deadline bucket (overdue, today, this week, later)
+ * - Total number of matching tasks
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskSearchFacets {
+
+    /**
+     * Deadline buckets relative to the moment of the search.
+     * "This week" runs from tomorrow until the start of next Monday.
+     */
+    public enum DeadlineBucket {
+        OVERDUE,
+        TODAY,
+        THIS_WEEK,
+        LATER
+    }
+
+    /**
+     * Total number of matching tasks.
+     */
+    private long total;
+
+    /**
+     * Matching tasks per category ID.
+     */
+    private Map<Long, Long> categories = new LinkedHashMap<>();
+
+    /**
+     * Matching tasks per owner username, or null when not requested.
+     */
+    private Map<String, Long> owners;
+
+    /**
+     * Matching tasks per deadline bucket, every bucket present.
+     */
+    private Map<DeadlineBucket, Long> deadlines = emptyDeadlines();
+
+    /**
+     * Default constructor.
+     */
+    public TaskSearchFacets() {
+    }
+
+    /**
+     * Creates empty facets, with an owner facet if requested.
+     */
+    public static TaskSearchFacets empty(boolean byOwner) {
+        TaskSearchFacets facets = new TaskSearchFacets();
+        if (byOwner) {
+            facets.setOwners(new LinkedHashMap<>());
+        }
+        return facets;
+    }
+
+    /**
+     * Gets the start of the day after the given moment, the upper bound of TODAY.
+     */
+    public static LocalDateTime startOfTomorrow(LocalDateTime now) {
+        return now.toLocalDate().plusDays(1).atStartOfDay();
+    }
+
+    /**
+     * Gets the start of next Monday after the given moment, the upper bound of THIS_WEEK.
+     */
+    public static LocalDateTime startOfNextWeek(LocalDateTime now) {
+        return now.toLocalDate().with(TemporalAdjusters.next(DayOfWeek.MONDAY)).atStartOfDay();
+    }
+
+    /**
+     * Adds the counts of one group of tasks.
+     */
+    public void add(Long categoryId, String owner, long count, long overdue, long today, long thisWeek) {
+        total += count;
+        categories.merge(categoryId, count, Long::sum);
+        if (owners != null && owner != null) {
+            owners.merge(owner, count, Long::sum);
+        }
+        deadlines.merge(DeadlineBucket.OVERDUE, overdue, Long::sum);
+        deadlines.merge(DeadlineBucket.TODAY, today, Long::sum);
+        deadlines.merge(DeadlineBucket.THIS_WEEK, thisWeek, Long::sum);
+        deadlines.merge(DeadlineBucket.LATER, count - overdue - today - thisWeek, Long::sum);
+    }
+
+    /**
+     * Gets the total number of matching tasks.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Sets the total number of matching tasks.
+     */
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    /**
+     * Gets the counts per category ID.
+     */
+    public Map<Long, Long> getCategories() {
+        return categories;
+    }
+
+    /**
+     * Sets the counts per category ID.
+     */
+    public void setCategories(Map<Long, Long> categories) {
+        this.categories = categories != null ? categories : new LinkedHashMap<>();
+    }
+
+    /**
+     * Gets the counts per owner username, or null when not requested.
+     */
+    public Map<String, Long> getOwners() {
+        return owners;
+    }
+
+    /**
+     * Sets the counts per owner username.
+     */
+    public void setOwners(Map<String, Long> owners) {
+        this.owners = owners;
+    }
+
+    /**
+     * Gets the counts per deadline bucket.
+     */
+    public Map<DeadlineBucket, Long> getDeadlines() {
+        return deadlines;
+    }
+
+    /**
+     * Sets the counts per deadline bucket.
+     */
+    public void setDeadlines(Map<DeadlineBucket, Long> deadlines) {
+        this.deadlines = deadlines != null ? deadlines : emptyDeadlines();
+    }
+
+    private static Map<DeadlineBucket, Long> emptyDeadlines() {
+        Map<DeadlineBucket, Long> deadlines = new EnumMap<>(DeadlineBucket.class);
+        for (DeadlineBucket bucket : DeadlineBucket.values()) {
+            deadlines.put(bucket, 0L);
+        }
+        return deadlines;
+    }
+
+    /**
+     * Returns a string representation of the facets.
+     */
+    @Override
+    public String toString() {
+        return "TaskSearchFacets{" +
+                "total=" + total +
+                ", categories=" + categories +
+                ", owners=" + owners +
+                ", deadlines=" + deadlines +
+                '}';
+    }
+}
@@ -0,0 +1,183 @@
+package ch.cern.todo.dto;
+
+import ch.cern.todo.repository.TaskSearchPlan;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for one page of task search results.
+ * Pages are addressed with an opaque continuation token instead of a page number,
+ * so fetching a deep page costs the same as fetching the first one.
+ *
+ * Features:
+ * - Bounded page size
+ * - Continuation token for the next page
+ * - Ready-to-follow link to the next page
+ * - Optional facet counts over all matches
+ * - Search plan for diagnostics
+ */
+public class TaskSearchPage {
+
+    /**
+     * Page size used when the client does not request one.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    /**
+     * Hard upper bound for the page size, whatever the client asks for.
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Tasks on this page, ordered by deadline and task ID.
+     */
+    private List<TaskResponseDTO> items = new ArrayList<>();
+
+    /**
+     * Continuation token for the next page, or null on the last page.
+     */
+    private String nextCursor;
+
+    /**
+     * Link to the next page, or null on the last page.
+     */
+    private String next;
+
+    /**
+     * Facet counts over all matching tasks, or null when not requested.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private TaskSearchFacets facets;
+
+    /**
+     * Plan that produced this page. Reported in response headers, not in the body.
+     */
+    @JsonIgnore
+    private TaskSearchPlan plan;
+
+    /**
+     * Default constructor.
+     */
+    public TaskSearchPage() {
+    }
+
+    /**
+     * Constructs a page from its items and continuation token.
+     */
+    public TaskSearchPage(List<TaskResponseDTO> items, String nextCursor) {
+        this.items = items != null ? items : new ArrayList<>();
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Creates a copy of this page sharing its items and facets, without the next link.
+     * Lets a cached page be handed out while each response fills in its own link.
+     */
+    public TaskSearchPage copy() {
+        TaskSearchPage copy = new TaskSearchPage(items, nextCursor);
+        copy.facets = facets;
+        copy.plan = plan;
+        return copy;
+    }
+
+    /**
+     * Clamps a requested page size into [1, MAX_PAGE_SIZE].
+     */
+    public static int normalizeSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Gets the tasks on this page.
+     */
+    public List<TaskResponseDTO> getItems() {
+        return items;
+    }
+
+    /**
+     * Sets the tasks on this page.
+     */
+    public void setItems(List<TaskResponseDTO> items) {
+        this.items = items != null ? items : new ArrayList<>();
+    }
+
+    /**
+     * Gets the number of tasks on this page.
+     */
+    public int getSize() {
+        return items.size();
+    }
+
+    /**
+     * Gets the continuation token for the next page.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Sets the continuation token for the next page.
+     */
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Gets the link to the next page.
+     */
+    public String getNext() {
+        return next;
+    }
+
+    /**
+     * Sets the link to the next page.
+     */
+    public void setNext(String next) {
+        this.next = next;
+    }
+
+    /**
+     * Gets the facet counts, or null when not requested.
+     */
+    public TaskSearchFacets getFacets() {
+        return facets;
+    }
+
+    /**
+     * Sets the facet counts.
+     */
+    public void setFacets(TaskSearchFacets facets) {
+        this.facets = facets;
+    }
+
+    /**
+     * Gets the plan that produced this page.
+     */
+    public TaskSearchPlan getPlan() {
+        return plan;
+    }
+
+    /**
+     * Sets the plan that produced this page.
+     */
+    public void setPlan(TaskSearchPlan plan) {
+        this.plan = plan;
+    }
+
+    /**
+     * Returns a string representation of the page.
+     */
+    @Override
+    public String toString() {
+        return "TaskSearchPage{" +
+                "size=" + items.size() +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
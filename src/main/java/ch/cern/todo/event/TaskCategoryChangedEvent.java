@@ -0,0 +1,48 @@
+package ch.cern.todo.event;
+
+/**
+ * Application event published by the service layer whenever a task category is renamed
+ * or its details change. Structures that copy category data into task entries (such as
+ * the full-text index) listen to it after the surrounding transaction has committed.
+ */
+public class TaskCategoryChangedEvent {
+
+    private final Long categoryId;
+    private final String categoryName;
+
+    /**
+     * Constructs an event for the given category state.
+     */
+    public TaskCategoryChangedEvent(Long categoryId, String categoryName) {
+        if (categoryId == null) {
+            throw new IllegalArgumentException("Category ID cannot be null");
+        }
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+    }
+
+    /**
+     * Gets the category ID.
+     */
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    /**
+     * Gets the category name after the change.
+     */
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    /**
+     * Returns a string representation of the event.
+     */
+    @Override
+    public String toString() {
+        return "TaskCategoryChangedEvent{" +
+                "categoryId=" + categoryId +
+                ", categoryName='" + categoryName + '\'' +
+                '}';
+    }
+}
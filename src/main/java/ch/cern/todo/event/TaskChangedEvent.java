@@ -0,0 +1,182 @@
+package ch.cern.todo.event;
+
+import ch.cern.todo.model.Task;
+
+import java.time.LocalDateTime;
+
+/**
+ * Application event published by the service layer whenever a task is written.
+ * In-memory structures derived from tasks (indexes, caches) listen to it and are
+ * updated once the surrounding transaction has committed.
+ *
+ * Features:
+ * - Change type (created, updated, deleted)
+ * - Snapshot of the indexed task fields, including category and owner
+ * - Previous category of a task moved to another one
+ */
+public class TaskChangedEvent {
+
+    /**
+     * Kind of write that happened to the task.
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long taskId;
+    private final String taskName;
+    private final String taskDescription;
+    private final LocalDateTime deadline;
+    private final Long categoryId;
+    private final String categoryName;
+    private final String ownerUsername;
+    private final Long previousCategoryId;
+
+    /**
+     * Constructs an event with an explicit snapshot.
+     */
+    public TaskChangedEvent(Type type, Long taskId, String taskName, String taskDescription,
+                            LocalDateTime deadline, Long categoryId, String categoryName, String ownerUsername) {
+        this(type, taskId, taskName, taskDescription, deadline, categoryId, categoryName, ownerUsername, null);
+    }
+
+    /**
+     * Constructs an event with an explicit snapshot, for a task that may have moved from
+     * another category.
+     */
+    public TaskChangedEvent(Type type, Long taskId, String taskName, String taskDescription,
+                            LocalDateTime deadline, Long categoryId, String categoryName, String ownerUsername,
+                            Long previousCategoryId) {
+        if (type == null || taskId == null) {
+            throw new IllegalArgumentException("Event type and task ID cannot be null");
+        }
+        this.type = type;
+        this.taskId = taskId;
+        this.taskName = taskName;
+        this.taskDescription = taskDescription;
+        this.deadline = deadline;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.ownerUsername = ownerUsername;
+        this.previousCategoryId = previousCategoryId;
+    }
+
+    /**
+     * Creates an event for a task that has been created or updated.
+     */
+    public static TaskChangedEvent saved(Type type, Task task) {
+        return saved(type, task, task.getUser() != null ? task.getUser().getUsername() : null);
+    }
+
+    /**
+     * Creates an event for a task that has been created or updated, with the owner's
+     * username supplied by the caller, so an unloaded owner reference stays unloaded.
+     */
+    public static TaskChangedEvent saved(Type type, Task task, String ownerUsername) {
+        Long categoryId = task.getCategory() != null ? task.getCategory().getCategoryId() : null;
+        String categoryName = task.getCategory() != null ? task.getCategory().getCategoryName() : null;
+        return new TaskChangedEvent(type, task.getTaskId(), task.getTaskName(), task.getTaskDescription(),
+                task.getDeadline(), categoryId, categoryName, ownerUsername);
+    }
+
+    /**
+     * Creates an event for a task that has been deleted, keeping its owner and category.
+     */
+    public static TaskChangedEvent deleted(Task task) {
+        TaskChangedEvent saved = saved(Type.DELETED, task);
+        return new TaskChangedEvent(Type.DELETED, saved.taskId, null, null, null,
+                saved.categoryId, saved.categoryName, saved.ownerUsername);
+    }
+
+    /**
+     * Creates an event for a task that has been deleted, when only its ID is known.
+     */
+    public static TaskChangedEvent deleted(Long taskId) {
+        return new TaskChangedEvent(Type.DELETED, taskId, null, null, null, null, null, null);
+    }
+
+    /**
+     * Gets the change type.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Checks whether the task no longer exists.
+     */
+    public boolean isDeletion() {
+        return type == Type.DELETED;
+    }
+
+    /**
+     * Gets the task ID.
+     */
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    /**
+     * Gets the task name after the change.
+     */
+    public String getTaskName() {
+        return taskName;
+    }
+
+    /**
+     * Gets the task description after the change.
+     */
+    public String getTaskDescription() {
+        return taskDescription;
+    }
+
+    /**
+     * Gets the task deadline after the change.
+     */
+    public LocalDateTime getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Gets the category ID after the change.
+     */
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    /**
+     * Gets the category name after the change, if it was loaded.
+     */
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    /**
+     * Gets the username of the task owner.
+     */
+    public String getOwnerUsername() {
+        return ownerUsername;
+    }
+
+    /**
+     * Gets the category ID before the change, when the change moved the task to another
+     * category; null otherwise.
+     */
+    public Long getPreviousCategoryId() {
+        return previousCategoryId;
+    }
+
+    /**
+     * Returns a string representation of the event.
+     */
+    @Override
+    public String toString() {
+        return "TaskChangedEvent{" +
+                "type=" + type +
+                ", taskId=" + taskId +
+                '}';
+    }
+}
@@ -0,0 +1,38 @@
+package ch.cern.todo.event;
+
+/**
+ * Application event published by the service layer whenever a user's password or roles
+ * change. Caches of verified credentials or loaded user details listen to it after the
+ * surrounding transaction has committed and drop what they hold for the user.
+ */
+public class UserCredentialsChangedEvent {
+
+    private final String username;
+
+    /**
+     * Constructs an event for the given user.
+     */
+    public UserCredentialsChangedEvent(String username) {
+        if (username == null) {
+            throw new IllegalArgumentException("Username cannot be null");
+        }
+        this.username = username;
+    }
+
+    /**
+     * Gets the username of the changed user.
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Returns a string representation of the event.
+     */
+    @Override
+    public String toString() {
+        return "UserCredentialsChangedEvent{" +
+                "username='" + username + '\'' +
+                '}';
+    }
+}
@@ -22,6 +22,7 @@ import java.util.Map;
  * - Handles resource not found exceptions
  * - Handles access denied scenarios
  * - Handles validation failures
+ * - Handles invalid search parameters
  * - Provides generic error handling
  * - Converts exceptions to appropriate HTTP responses
  */
@@ -49,6 +50,15 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles TaskNotFoundException and converts it to a NOT_FOUND response.
+     */
+    @ExceptionHandler(TaskNotFoundException.class)
+    public ResponseEntity<String> handleTaskNotFound(TaskNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(e.getMessage());
+    }
+
     /**
      * Handles AccessDeniedException and converts it to a FORBIDDEN response.
      * Triggered when a user attempts to access unauthorized resources.
@@ -59,6 +69,26 @@ public class GlobalExceptionHandler {
                 .body("Access denied: " + e.getMessage());
     }
 
+    /**
+     * Handles InvalidSearchCursorException and converts it to a BAD_REQUEST response.
+     * Triggered when a client sends a continuation token that was not issued by the API.
+     */
+    @ExceptionHandler(InvalidSearchCursorException.class)
+    public ResponseEntity<String> handleInvalidSearchCursor(InvalidSearchCursorException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(e.getMessage());
+    }
+
+    /**
+     * Handles InvalidSearchCriteriaException and converts it to a BAD_REQUEST response.
+     * Triggered when search parameters are missing, out of range or inconsistent.
+     */
+    @ExceptionHandler(InvalidSearchCriteriaException.class)
+    public ResponseEntity<String> handleInvalidSearchCriteria(InvalidSearchCriteriaException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(e.getMessage());
+    }
+
     /**
      * Handles all unhandled exceptions and converts them to INTERNAL_SERVER_ERROR responses.
      * Acts as a catch-all for any exceptions not specifically handled elsewhere.
@@ -0,0 +1,11 @@
+package ch.cern.todo.exception;
+
+/**
+ * Custom exception for search parameters that are missing, out of range or inconsistent.
+ */
+public class InvalidSearchCriteriaException extends RuntimeException {
+
+    public InvalidSearchCriteriaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package ch.cern.todo.exception;
+
+/**
+ * Custom exception for malformed or tampered search continuation tokens.
+ */
+public class InvalidSearchCursorException extends RuntimeException {
+
+    public InvalidSearchCursorException(String cursor) {
+        super("Invalid search cursor: " + cursor);
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import jakarta.validation.constraints.Future;
+import org.hibernate.Hibernate;
 
 import java.time.LocalDateTime;
 
@@ -20,17 +21,42 @@ import java.time.LocalDateTime;
  * - User assignment
  * - Deadline management
  * - JSON serialization control
+ * - Lazy associations, fetched per use case through named entity graphs
  */
 @Entity
-@Table(name = "TASKS")
+@NamedEntityGraph(name = Task.WITH_CATEGORY_AND_OWNER, attributeNodes = {
+        @NamedAttributeNode("category"),
+        @NamedAttributeNode("user")
+})
+@NamedEntityGraph(name = Task.DETAIL, attributeNodes = {
+        @NamedAttributeNode("category"),
+        @NamedAttributeNode(value = "user", subgraph = "owner")
+}, subgraphs = @NamedSubgraph(name = "owner", attributeNodes = @NamedAttributeNode("roles")))
+@Table(name = "TASKS", indexes = {
+        @Index(name = "IDX_TASKS_DEADLINE_ID", columnList = "deadline, taskId"),
+        @Index(name = "IDX_TASKS_USER_DEADLINE", columnList = "user_id, deadline"),
+        @Index(name = "IDX_TASKS_CATEGORY_DEADLINE", columnList = "category_id, deadline")
+})
 public class Task {
 
+    /**
+     * Entity graph fetching the category and owner, e.g. to describe a task in a change event.
+     */
+    public static final String WITH_CATEGORY_AND_OWNER = "Task.withCategoryAndOwner";
+
+    /**
+     * Entity graph fetching everything a task entity is rendered with as JSON:
+     * category, owner and the owner's roles.
+     */
+    public static final String DETAIL = "Task.detail";
+
     /**
      * Unique identifier for the task.
-     * Auto-generated using identity strategy.
+     * Drawn from the TASKS_SEQ sequence in blocks of 50 (pooled optimizer), so inserts can be batched.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "TASKS_SEQ", allocationSize = 50)
     private Long taskId;
 
     /**
@@ -62,9 +88,9 @@ public class Task {
     /**
      * Category of the task.
      * Required field establishing relationship with TaskCategory.
-     * Eager fetching ensures category is always loaded with task.
+     * Fetched lazily; repository methods that need it name an entity graph.
      */
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     @JsonIgnoreProperties("tasks")
     private TaskCategory category;
@@ -72,9 +98,9 @@ public class Task {
     /**
      * User assigned to the task.
      * Required field establishing relationship with User.
-     * Eager fetching ensures user is always loaded with task.
+     * Fetched lazily; repository methods that need it name an entity graph.
      */
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     @JsonIgnoreProperties("tasks")
     private User user;
@@ -202,6 +228,7 @@ public class Task {
 
     /**
      * Returns a string representation of the task.
+     * Associations that are not loaded are shown by ID, so printing never loads them.
      */
     @Override
     public String toString() {
@@ -210,8 +237,10 @@ public class Task {
                 ", taskName='" + taskName + '\'' +
                 ", taskDescription='" + taskDescription + '\'' +
                 ", deadline=" + deadline +
-                ", category=" + (category != null ? category.getCategoryName() : "null") +
-                ", user=" + (user != null ? user.getUsername() : "null") +
+                ", category=" + (category == null ? "null"
+                        : Hibernate.isInitialized(category) ? category.getCategoryName() : "#" + category.getCategoryId()) +
+                ", user=" + (user == null ? "null"
+                        : Hibernate.isInitialized(user) ? user.getUsername() : "#" + user.getId()) +
                 '}';
     }
 
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -17,17 +19,31 @@ import java.util.Set;
  * - Bidirectional relationship with tasks
  * - JSON serialization control
  * - Lazy loading of tasks
+ * - Second-level cached: categories change rarely and are read on most task requests
  */
 @Entity
 @Table(name = "TASK_CATEGORIES")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TaskCategory.CACHE_REGION)
 public class TaskCategory {
 
+    /**
+     * Second-level cache region of categories.
+     */
+    public static final String CACHE_REGION = "taskCategories";
+
+    /**
+     * Query cache region of category listings.
+     */
+    public static final String QUERY_CACHE_REGION = "taskCategoryQueries";
+
     /**
      * Unique identifier for the category.
-     * Auto-generated using identity strategy.
+     * Drawn from the TASK_CATEGORIES_SEQ sequence in blocks of 50 (pooled optimizer), so inserts can be batched.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_categories_seq")
+    @SequenceGenerator(name = "task_categories_seq", sequenceName = "TASK_CATEGORIES_SEQ", allocationSize = 50)
     private Long categoryId;
 
     /**
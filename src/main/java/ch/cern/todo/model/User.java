@@ -3,6 +3,10 @@ package ch.cern.todo.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.util.HashSet;
 import java.util.Set;
 
@@ -16,17 +20,38 @@ import java.util.Set;
  * - Role-based authorization
  * - Bidirectional relationship with tasks
  * - JPA entity mappings
+ * - Roles fetched lazily, or with the user through the "User.withRoles" entity graph
+ * - Second-level cached, roles included
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@NamedEntityGraph(name = User.WITH_ROLES, attributeNodes = @NamedAttributeNode("roles"))
 @Table(name = "USERS")
 public class User {
 
+    /**
+     * Entity graph fetching the user's roles with the user, e.g. to authenticate.
+     */
+    public static final String WITH_ROLES = "User.withRoles";
+
+    /**
+     * Second-level cache region of users.
+     */
+    public static final String CACHE_REGION = "users";
+
+    /**
+     * Second-level cache region of the users' role sets.
+     */
+    public static final String ROLES_CACHE_REGION = "userRoles";
+
     /**
      * Unique identifier for the user.
-     * Auto-generated using identity strategy.
+     * Drawn from the USERS_SEQ sequence in blocks of 50 (pooled optimizer), so inserts can be batched.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "USERS_SEQ", allocationSize = 50)
     private Long id;
 
     /**
@@ -48,10 +73,11 @@ public class User {
 
     /**
      * Set of roles assigned to the user.
-     * Stored in a separate table with eager fetching.
+     * Stored in a separate table and fetched lazily; only authentication needs them.
      * Examples: ROLE_USER, ROLE_ADMIN
      */
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.ROLES_CACHE_REGION)
     @CollectionTable(
             name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id")
@@ -182,7 +208,7 @@ public class User {
         return "User{" +
                 "id=" + id +
                 ", username='" + username + '\'' +
-                ", roles=" + roles +
+                ", roles=" + (Hibernate.isInitialized(roles) ? roles : "<not loaded>") +
                 '}';
     }
 }
\ No newline at end of file
@@ -1,9 +1,14 @@
 package ch.cern.todo.repository;
 
 import ch.cern.todo.model.TaskCategory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * Repository interface for TaskCategory entity operations.
  * Extends JpaRepository to provide standard CRUD operations for TaskCategory entities.
@@ -12,12 +17,24 @@ import org.springframework.stereotype.Repository;
  * - Standard CRUD operations inherited from JpaRepository
  * - Automatic query generation
  * - Transaction management
+ * - Listing of all categories served from the query cache
  */
 @Repository
 public interface TaskCategoryRepository extends JpaRepository<TaskCategory, Long> {
 
     // Basic CRUD operations are inherited from JpaRepository
 
+    /**
+     * Finds all categories. The result is kept in the query cache until a category
+     * is written; the categories themselves come from the second-level cache.
+     */
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = TaskCategory.QUERY_CACHE_REGION)
+    })
+    List<TaskCategory> findAll();
+
     // Optionals are here:
     /**
      * Finds a category by its name.
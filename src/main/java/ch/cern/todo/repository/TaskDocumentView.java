@@ -0,0 +1,25 @@
+package ch.cern.todo.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the fields of a task that are copied into the full-text index.
+ * Carries the category name and owner username so documents can be built
+ * without hydrating Task, TaskCategory and User entities.
+ */
+public interface TaskDocumentView {
+
+    Long getTaskId();
+
+    String getTaskName();
+
+    String getTaskDescription();
+
+    LocalDateTime getDeadline();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    String getOwnerUsername();
+}
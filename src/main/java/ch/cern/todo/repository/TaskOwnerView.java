@@ -0,0 +1,12 @@
+package ch.cern.todo.repository;
+
+/**
+ * Projection of a task ID and the ID of its owner.
+ * Used for access checks without hydrating Task entities.
+ */
+public interface TaskOwnerView {
+
+    Long getTaskId();
+
+    Long getOwnerId();
+}
@@ -1,13 +1,20 @@
 package ch.cern.todo.repository;
 
+import ch.cern.todo.dto.TaskResponseDTO;
 import ch.cern.todo.model.Task;
+import ch.cern.todo.model.TaskCategory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for Task entity operations.
@@ -15,28 +22,125 @@ import java.util.List;
  *
  * Features:
  * - Standard CRUD operations inherited from JpaRepository
- * - Custom search functionality with multiple criteria
+ * - Custom search functionality with multiple criteria (see TaskSearchRepository)
  * - Case-insensitive search capabilities
  * - Flexible parameter handling
+ * - Keyset pagination on (deadline, taskId)
+ * - Read-only DTO projections for read endpoints
+ * - Set-based bulk update and delete, optionally restricted to one owner
+ * - Entity loads fetching only the associations their use case needs (named entity graphs)
  */
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
-
-    /**
-     * Performs a flexible search for tasks based on multiple optional criteria.
-     * All parameters are optional and can be combined for advanced filtering.
-     * The search is case-insensitive for text fields.
-     */
-    @Query("SELECT t FROM Task t WHERE " +
-            "(:username IS NULL OR t.user.username = :username) AND " +
-            "(:name IS NULL OR LOWER(t.taskName) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
-            "(:description IS NULL OR LOWER(t.taskDescription) LIKE LOWER(CONCAT('%', :description, '%'))) AND " +
-            "(:deadline IS NULL OR CAST(t.deadline AS date) = CAST(:deadline AS date)) AND " +
-            "(:categoryId IS NULL OR t.category.categoryId = :categoryId)")
-    List<Task> search(
-            @Param("username") String username,
-            @Param("name") String name,
-            @Param("description") String description,
-            @Param("deadline") LocalDateTime deadline,
-            @Param("categoryId") Long categoryId);
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskSearchRepository {
+
+    // Dynamic search is provided by the TaskSearchRepository fragment
+
+    /**
+     * Loads a task with everything it is rendered with as JSON (category, owner and the
+     * owner's roles) in one statement.
+     */
+    @EntityGraph(Task.DETAIL)
+    Optional<Task> findDetailByTaskId(Long taskId);
+
+    /**
+     * Loads a task with its category and owner in one statement.
+     */
+    @EntityGraph(Task.WITH_CATEGORY_AND_OWNER)
+    Optional<Task> findWithCategoryAndOwnerByTaskId(Long taskId);
+
+    /**
+     * Reads a single task as a response DTO, without loading the entity or its associations.
+     */
+    @Query("SELECT new ch.cern.todo.dto.TaskResponseDTO(t.taskId, t.taskName, t.taskDescription, " +
+            "t.deadline, c.categoryName, u.username) " +
+            "FROM Task t JOIN t.category c JOIN t.user u WHERE t.taskId = :taskId")
+    Optional<TaskResponseDTO> findResponseById(@Param("taskId") Long taskId);
+
+    /**
+     * Reads the database ID of the user owning a task, without loading the task.
+     */
+    @Query("SELECT t.user.id FROM Task t WHERE t.taskId = :taskId")
+    Optional<Long> findOwnerIdById(@Param("taskId") Long taskId);
+
+    /**
+     * Reads the owner IDs of several tasks at once. Tasks that do not exist are left out.
+     */
+    @Query("SELECT t.taskId AS taskId, t.user.id AS ownerId FROM Task t WHERE t.taskId IN :taskIds")
+    List<TaskOwnerView> findOwnerIdsByIds(@Param("taskIds") Collection<Long> taskIds);
+
+    /**
+     * Reads several tasks as response DTOs, in no particular order.
+     * Tasks that no longer exist are left out.
+     */
+    @Query("SELECT new ch.cern.todo.dto.TaskResponseDTO(t.taskId, t.taskName, t.taskDescription, " +
+            "t.deadline, c.categoryName, u.username) " +
+            "FROM Task t JOIN t.category c JOIN t.user u WHERE t.taskId IN :taskIds")
+    List<TaskResponseDTO> findResponsesByIds(@Param("taskIds") Collection<Long> taskIds);
+
+    /**
+     * Reads the text fields of the tasks following the given ID, in ID order.
+     * Used to page through the whole table when building in-memory indexes.
+     */
+    @Query("SELECT t.taskId AS taskId, t.taskName AS taskName, t.taskDescription AS taskDescription " +
+            "FROM Task t WHERE t.taskId > :afterId ORDER BY t.taskId")
+    List<TaskTextView> findTextAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Reads the text fields of all tasks of one owner.
+     * Used to build per-user in-memory indexes on demand.
+     */
+    @Query("SELECT t.taskId AS taskId, t.taskName AS taskName, t.taskDescription AS taskDescription " +
+            "FROM Task t WHERE t.user.username = :username")
+    List<TaskTextView> findTextByOwner(@Param("username") String username);
+
+    /**
+     * Reads the indexed fields of the tasks following the given ID, in ID order,
+     * together with their category name and owner username.
+     * Used to page through the whole table when rebuilding the full-text index.
+     */
+    @Query("SELECT t.taskId AS taskId, t.taskName AS taskName, t.taskDescription AS taskDescription, " +
+            "t.deadline AS deadline, c.categoryId AS categoryId, c.categoryName AS categoryName, " +
+            "u.username AS ownerUsername " +
+            "FROM Task t JOIN t.category c JOIN t.user u WHERE t.taskId > :afterId ORDER BY t.taskId")
+    List<TaskDocumentView> findDocumentsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Reads the indexed fields of several tasks together with their category and owner,
+     * in no particular order. Used to describe tasks in change events before a bulk
+     * statement changes them. Tasks that do not exist are left out.
+     */
+    @Query("SELECT t.taskId AS taskId, t.taskName AS taskName, t.taskDescription AS taskDescription, " +
+            "t.deadline AS deadline, c.categoryId AS categoryId, c.categoryName AS categoryName, " +
+            "u.username AS ownerUsername " +
+            "FROM Task t JOIN t.category c JOIN t.user u WHERE t.taskId IN :taskIds")
+    List<TaskDocumentView> findDocumentsByIds(@Param("taskIds") Collection<Long> taskIds);
+
+    /**
+     * Deletes several tasks in one statement; when ownerId is set, only tasks of that owner.
+     * Bypasses the persistence context, which is flushed before and cleared after.
+     * Returns the number of tasks deleted.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.taskId IN :taskIds AND (:ownerId IS NULL OR t.user.id = :ownerId)")
+    int deleteByIdsAndOwner(@Param("taskIds") Collection<Long> taskIds, @Param("ownerId") Long ownerId);
+
+    /**
+     * Moves several tasks to a category in one statement; when ownerId is set, only tasks
+     * of that owner. Returns the number of tasks updated.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.category = :category " +
+            "WHERE t.taskId IN :taskIds AND (:ownerId IS NULL OR t.user.id = :ownerId)")
+    int updateCategoryByIdsAndOwner(@Param("taskIds") Collection<Long> taskIds, @Param("ownerId") Long ownerId,
+                                    @Param("category") TaskCategory category);
+
+    /**
+     * Sets the deadline of several tasks in one statement; when ownerId is set, only tasks
+     * of that owner. Returns the number of tasks updated.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.deadline = :deadline " +
+            "WHERE t.taskId IN :taskIds AND (:ownerId IS NULL OR t.user.id = :ownerId)")
+    int updateDeadlineByIdsAndOwner(@Param("taskIds") Collection<Long> taskIds, @Param("ownerId") Long ownerId,
+                                    @Param("deadline") LocalDateTime deadline);
 }
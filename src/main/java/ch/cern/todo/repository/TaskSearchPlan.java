@@ -0,0 +1,125 @@
+package ch.cern.todo.repository;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Compiled search plan for one predicate shape.
+ * A shape is the set of filters that are actually present in a search; all searches
+ * with the same shape share the same JPQL text, and therefore the same cached
+ * Hibernate interpretation and the same prepared statement in the database.
+ *
+ * Features:
+ * - Shape identity as a bit mask
+ * - Shape-specific JPQL containing only the active predicates
+ * - Name of the index the shape is designed to use
+ */
+public final class TaskSearchPlan {
+
+    /**
+     * Optional predicates that can make up a search shape.
+     */
+    public enum Predicate {
+        USERNAME,
+        NAME,
+        DESCRIPTION,
+        DEADLINE_FROM,
+        DEADLINE_TO,
+        CATEGORY,
+        TASK_IDS,
+        SEEK
+    }
+
+    /**
+     * Bit mask of the active predicates.
+     */
+    private final int shape;
+
+    /**
+     * Active predicates, in declaration order.
+     */
+    private final Set<Predicate> predicates;
+
+    /**
+     * JPQL statement selecting one page of tasks for this shape.
+     */
+    private final String jpql;
+
+    /**
+     * Index this shape is expected to be served by.
+     */
+    private final String index;
+
+    /**
+     * Constructs a plan for the given predicates.
+     */
+    TaskSearchPlan(Set<Predicate> predicates, String jpql, String index) {
+        EnumSet<Predicate> copy = predicates.isEmpty() ? EnumSet.noneOf(Predicate.class) : EnumSet.copyOf(predicates);
+        this.shape = maskOf(copy);
+        this.predicates = Collections.unmodifiableSet(copy);
+        this.jpql = jpql;
+        this.index = index;
+    }
+
+    /**
+     * Computes the bit mask of a set of predicates.
+     */
+    static int maskOf(Set<Predicate> predicates) {
+        int mask = 0;
+        for (Predicate predicate : predicates) {
+            mask |= 1 << predicate.ordinal();
+        }
+        return mask;
+    }
+
+    /**
+     * Gets the bit mask identifying this shape.
+     */
+    public int getShape() {
+        return shape;
+    }
+
+    /**
+     * Gets the active predicates.
+     */
+    public Set<Predicate> getPredicates() {
+        return predicates;
+    }
+
+    /**
+     * Gets a readable label of the shape, e.g. "USERNAME+DEADLINE_FROM".
+     */
+    public String getLabel() {
+        if (predicates.isEmpty()) {
+            return "ALL";
+        }
+        return predicates.stream().map(Enum::name).collect(Collectors.joining("+"));
+    }
+
+    /**
+     * Gets the JPQL statement of this shape.
+     */
+    public String getJpql() {
+        return jpql;
+    }
+
+    /**
+     * Gets the index this shape is designed to use.
+     */
+    public String getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns a string representation of the plan.
+     */
+    @Override
+    public String toString() {
+        return "TaskSearchPlan{" +
+                "shape=" + getLabel() +
+                ", index='" + index + '\'' +
+                '}';
+    }
+}
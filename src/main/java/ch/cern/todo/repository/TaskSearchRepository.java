@@ -0,0 +1,47 @@
+package ch.cern.todo.repository;
+
+import ch.cern.todo.dto.TaskResponseDTO;
+import ch.cern.todo.dto.TaskSearchCriteria;
+import ch.cern.todo.dto.TaskSearchCursor;
+import ch.cern.todo.dto.TaskSearchFacets;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Repository fragment for dynamic task searches.
+ * Builds one statement per predicate shape instead of a single catch-all query,
+ * so the database only sees the filters that were actually supplied. Results are
+ * read-only projections, not managed entities.
+ */
+public interface TaskSearchRepository {
+
+    /**
+     * Resolves the compiled plan for the shape of the given criteria.
+     * Plans are cached, so repeated searches of the same shape reuse the same statement.
+     */
+    TaskSearchPlan planSearch(TaskSearchCriteria criteria, TaskSearchCursor after);
+
+    /**
+     * Executes a plan and returns at most {@code limit} tasks ordered by (deadline, taskId),
+     * starting strictly after the given keyset position.
+     */
+    List<TaskResponseDTO> search(TaskSearchPlan plan, TaskSearchCriteria criteria, TaskSearchCursor after, int limit);
+
+    /**
+     * Counts all tasks matching a plan per category, per deadline bucket relative to
+     * {@code now} and, if requested, per owner, in a single grouped statement.
+     * The plan must not contain a keyset position, so counts are the same for every page.
+     */
+    TaskSearchFacets facets(TaskSearchPlan plan, TaskSearchCriteria criteria, boolean byOwner, LocalDateTime now);
+
+    /**
+     * Executes a plan over a forward-only cursor and hands every matching task, ordered by
+     * (deadline, taskId), to the given action. Rows are fetched {@code fetchSize} at a time
+     * and nothing is retained once handed over, so memory use does not grow with the number
+     * of matches. Must be called inside a transaction. The plan must not contain a keyset
+     * position. Returns the number of tasks processed.
+     */
+    long streamSearch(TaskSearchPlan plan, TaskSearchCriteria criteria, int fetchSize, Consumer<TaskResponseDTO> action);
+}
@@ -0,0 +1,325 @@
+package ch.cern.todo.repository;
+
+import ch.cern.todo.dto.TaskResponseDTO;
+import ch.cern.todo.dto.TaskSearchCriteria;
+import ch.cern.todo.dto.TaskSearchCursor;
+import ch.cern.todo.dto.TaskSearchFacets;
+import ch.cern.todo.repository.TaskSearchPlan.Predicate;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the dynamic task search fragment.
+ * Emits only the predicates that are present and caches the resulting JPQL per shape.
+ * Rows are projected straight into TaskResponseDTO, so searches create no managed
+ * entities, no dirty-checking snapshots and no secondary selects for eager associations.
+ * Because the statement text of a shape never changes, Hibernate's query plan cache
+ * and the database's statement cache both hit on every repeated search of that shape.
+ *
+ * Features:
+ * - One statement per predicate shape
+ * - Constructor-expression projection into response DTOs
+ * - Escaped, pre-lowercased LIKE patterns
+ * - Keyset continuation on (deadline, taskId)
+ * - Task ID restriction for filters resolved in memory
+ * - Index selection reported per shape
+ * - Facet counts in one grouped statement per shape
+ * - Streaming over a forward-only cursor with bounded memory
+ */
+public class TaskSearchRepositoryImpl implements TaskSearchRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchRepositoryImpl.class);
+
+    /**
+     * Escape character used in LIKE patterns.
+     */
+    private static final char LIKE_ESCAPE = '!';
+
+    /**
+     * Index on (deadline, task_id), serving ordering and deadline ranges.
+     */
+    static final String DEADLINE_INDEX = "IDX_TASKS_DEADLINE_ID";
+
+    /**
+     * Index on (user_id, deadline), serving per-user searches.
+     */
+    static final String USER_DEADLINE_INDEX = "IDX_TASKS_USER_DEADLINE";
+
+    /**
+     * Index on (category_id, deadline), serving per-category searches.
+     */
+    static final String CATEGORY_DEADLINE_INDEX = "IDX_TASKS_CATEGORY_DEADLINE";
+
+    /**
+     * Primary key index, serving searches restricted to a resolved list of task IDs.
+     */
+    static final String PRIMARY_KEY_INDEX = "PRIMARY_KEY";
+
+    private final EntityManager entityManager;
+
+    /**
+     * Compiled plans keyed by shape bit mask.
+     */
+    private final Map<Integer, TaskSearchPlan> plans = new ConcurrentHashMap<>();
+
+    /**
+     * Facet statements keyed by shape bit mask, shifted left once with the owner facet flag in bit 0.
+     */
+    private final Map<Integer, String> facetStatements = new ConcurrentHashMap<>();
+    /**
+     * Constructs the fragment with the shared entity manager.
+     */
+    public TaskSearchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public TaskSearchPlan planSearch(TaskSearchCriteria criteria, TaskSearchCursor after) {
+        Set<Predicate> predicates = activePredicates(criteria, after);
+        return plans.computeIfAbsent(TaskSearchPlan.maskOf(predicates), mask -> compile(predicates));
+    }
+
+    @Override
+    public List<TaskResponseDTO> search(TaskSearchPlan plan, TaskSearchCriteria criteria, TaskSearchCursor after, int limit) {
+        TypedQuery<TaskResponseDTO> query = entityManager.createQuery(plan.getJpql(), TaskResponseDTO.class);
+        bind(query, plan.getPredicates(), criteria, after);
+
+        log.debug("Task search shape={} index={}", plan.getLabel(), plan.getIndex());
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public TaskSearchFacets facets(TaskSearchPlan plan, TaskSearchCriteria criteria, boolean byOwner, LocalDateTime now) {
+        Set<Predicate> predicates = plan.getPredicates();
+        if (predicates.contains(Predicate.SEEK)) {
+            throw new IllegalArgumentException("Facets cannot be computed for a keyset position");
+        }
+        String jpql = facetStatements.computeIfAbsent((plan.getShape() << 1) | (byOwner ? 1 : 0),
+                key -> compileFacets(predicates, byOwner));
+
+        Query query = entityManager.createQuery(jpql);
+        bind(query, predicates, criteria, null);
+        query.setParameter("bucketNow", now);
+        query.setParameter("bucketTomorrow", TaskSearchFacets.startOfTomorrow(now));
+        query.setParameter("bucketNextWeek", TaskSearchFacets.startOfNextWeek(now));
+
+        TaskSearchFacets facets = TaskSearchFacets.empty(byOwner);
+        for (Object result : query.getResultList()) {
+            Object[] row = (Object[]) result;
+            int i = 0;
+            Long categoryId = (Long) row[i++];
+            String owner = byOwner ? (String) row[i++] : null;
+            facets.add(categoryId, owner, count(row[i++]), count(row[i++]), count(row[i++]), count(row[i]));
+        }
+        log.debug("Task facets shape={} groups={}", plan.getLabel(), facets.getCategories().size());
+        return facets;
+    }
+
+    @Override
+    public long streamSearch(TaskSearchPlan plan, TaskSearchCriteria criteria, int fetchSize,
+                             Consumer<TaskResponseDTO> action) {
+        if (plan.getPredicates().contains(Predicate.SEEK)) {
+            throw new IllegalArgumentException("Streaming cannot start at a keyset position");
+        }
+        TypedQuery<TaskResponseDTO> query = entityManager.createQuery(plan.getJpql(), TaskResponseDTO.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize);
+        bind(query, plan.getPredicates(), criteria, null);
+
+        long count = 0;
+        try (Stream<TaskResponseDTO> rows = query.getResultStream()) {
+            Iterator<TaskResponseDTO> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+                count++;
+            }
+        }
+        log.debug("Task stream shape={} rows={}", plan.getLabel(), count);
+        return count;
+    }
+
+    /**
+     * Binds the parameters of the active predicates.
+     */
+    private static void bind(Query query, Set<Predicate> predicates, TaskSearchCriteria criteria, TaskSearchCursor after) {
+        if (predicates.contains(Predicate.USERNAME)) {
+            query.setParameter("username", criteria.getUsername());
+        }
+        if (predicates.contains(Predicate.NAME)) {
+            query.setParameter("name", containsPattern(criteria.getName()));
+        }
+        if (predicates.contains(Predicate.DESCRIPTION)) {
+            query.setParameter("description", containsPattern(criteria.getDescription()));
+        }
+        if (predicates.contains(Predicate.DEADLINE_FROM)) {
+            query.setParameter("deadlineFrom", criteria.getEffectiveDeadlineFrom());
+        }
+        if (predicates.contains(Predicate.DEADLINE_TO)) {
+            query.setParameter("deadlineTo", criteria.getEffectiveDeadlineTo());
+        }
+        if (predicates.contains(Predicate.CATEGORY)) {
+            query.setParameter("categoryId", criteria.getCategoryId());
+        }
+        if (predicates.contains(Predicate.TASK_IDS)) {
+            query.setParameter("taskIds", criteria.getTaskIds());
+        }
+        if (predicates.contains(Predicate.SEEK)) {
+            query.setParameter("afterDeadline", after.getDeadline());
+            query.setParameter("afterTaskId", after.getTaskId());
+        }
+    }
+
+    /**
+     * Determines which predicates the given criteria actually use.
+     */
+    private static Set<Predicate> activePredicates(TaskSearchCriteria criteria, TaskSearchCursor after) {
+        Set<Predicate> predicates = EnumSet.noneOf(Predicate.class);
+        if (hasText(criteria.getUsername())) predicates.add(Predicate.USERNAME);
+        if (hasText(criteria.getName())) predicates.add(Predicate.NAME);
+        if (hasText(criteria.getDescription())) predicates.add(Predicate.DESCRIPTION);
+        if (criteria.getEffectiveDeadlineFrom() != null) predicates.add(Predicate.DEADLINE_FROM);
+        if (criteria.getEffectiveDeadlineTo() != null) predicates.add(Predicate.DEADLINE_TO);
+        if (criteria.getCategoryId() != null) predicates.add(Predicate.CATEGORY);
+        if (criteria.getTaskIds() != null) predicates.add(Predicate.TASK_IDS);
+        if (after != null) predicates.add(Predicate.SEEK);
+        return predicates;
+    }
+
+    /**
+     * Builds the JPQL text and index choice for one shape.
+     * Category and owner are inner-joined for the projection; both are mandatory, so the
+     * joins never drop rows and replace the per-row selects of the eager associations.
+     */
+    private static TaskSearchPlan compile(Set<Predicate> predicates) {
+        String jpql = "SELECT new " + TaskResponseDTO.class.getName() +
+                "(t.taskId, t.taskName, t.taskDescription, t.deadline, c.categoryName, u.username)" +
+                fromWhere(predicates, true, true) +
+                " ORDER BY t.deadline ASC, t.taskId ASC";
+        TaskSearchPlan plan = new TaskSearchPlan(predicates, jpql, indexFor(predicates));
+        log.info("Compiled task search plan {}", plan);
+        return plan;
+    }
+
+    /**
+     * Builds the grouped facet statement for one shape. Deadline buckets are counted with
+     * conditional sums, so the statement groups by plain columns only.
+     */
+    private static String compileFacets(Set<Predicate> predicates, boolean byOwner) {
+        StringBuilder jpql = new StringBuilder("SELECT t.category.categoryId");
+        if (byOwner) {
+            jpql.append(", u.username");
+        }
+        jpql.append(", COUNT(t)")
+                .append(", SUM(CASE WHEN t.deadline < :bucketNow THEN 1 ELSE 0 END)")
+                .append(", SUM(CASE WHEN t.deadline >= :bucketNow AND t.deadline < :bucketTomorrow THEN 1 ELSE 0 END)")
+                .append(", SUM(CASE WHEN t.deadline >= :bucketTomorrow AND t.deadline < :bucketNextWeek THEN 1 ELSE 0 END)")
+                .append(fromWhere(predicates, byOwner, false))
+                .append(" GROUP BY t.category.categoryId");
+        if (byOwner) {
+            jpql.append(", u.username");
+        }
+        return jpql.toString();
+    }
+
+    /**
+     * Builds the FROM and WHERE clauses shared by the page and facet statements of a shape.
+     * The owner is joined as "u" when requested or filtered on; the category as "c" when requested.
+     */
+    private static String fromWhere(Set<Predicate> predicates, boolean joinUser, boolean joinCategory) {
+        StringBuilder jpql = new StringBuilder(" FROM Task t");
+        if (joinCategory) {
+            jpql.append(" JOIN t.category c");
+        }
+        if (joinUser || predicates.contains(Predicate.USERNAME)) {
+            jpql.append(" JOIN t.user u");
+        }
+
+        List<String> conditions = new ArrayList<>();
+        if (predicates.contains(Predicate.USERNAME)) {
+            conditions.add("u.username = :username");
+        }
+        if (predicates.contains(Predicate.NAME)) {
+            conditions.add("LOWER(t.taskName) LIKE :name ESCAPE '" + LIKE_ESCAPE + "'");
+        }
+        if (predicates.contains(Predicate.DESCRIPTION)) {
+            conditions.add("LOWER(t.taskDescription) LIKE :description ESCAPE '" + LIKE_ESCAPE + "'");
+        }
+        if (predicates.contains(Predicate.DEADLINE_FROM)) {
+            conditions.add("t.deadline >= :deadlineFrom");
+        }
+        if (predicates.contains(Predicate.DEADLINE_TO)) {
+            conditions.add("t.deadline < :deadlineTo");
+        }
+        if (predicates.contains(Predicate.CATEGORY)) {
+            conditions.add("t.category.categoryId = :categoryId");
+        }
+        if (predicates.contains(Predicate.TASK_IDS)) {
+            conditions.add("t.taskId IN :taskIds");
+        }
+        if (predicates.contains(Predicate.SEEK)) {
+            conditions.add("(t.deadline > :afterDeadline OR " +
+                    "(t.deadline = :afterDeadline AND t.taskId > :afterTaskId))");
+        }
+
+        if (!conditions.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        return jpql.toString();
+    }
+
+    /**
+     * Picks the index that serves a shape: a resolved ID list first, then the most
+     * selective equality prefix, then the deadline order shared by every shape.
+     */
+    private static String indexFor(Set<Predicate> predicates) {
+        if (predicates.contains(Predicate.TASK_IDS)) {
+            return PRIMARY_KEY_INDEX;
+        }
+        if (predicates.contains(Predicate.USERNAME)) {
+            return USER_DEADLINE_INDEX;
+        }
+        if (predicates.contains(Predicate.CATEGORY)) {
+            return CATEGORY_DEADLINE_INDEX;
+        }
+        return DEADLINE_INDEX;
+    }
+
+    /**
+     * Turns user input into a lowercase "contains" LIKE pattern with wildcards escaped.
+     */
+    static String containsPattern(String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        StringBuilder pattern = new StringBuilder(lower.length() + 2).append('%');
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+
+    private static long count(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
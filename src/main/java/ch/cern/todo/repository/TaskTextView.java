@@ -0,0 +1,14 @@
+package ch.cern.todo.repository;
+
+/**
+ * Projection of the searchable text fields of a task.
+ * Used to build in-memory text indexes without hydrating Task entities.
+ */
+public interface TaskTextView {
+
+    Long getTaskId();
+
+    String getTaskName();
+
+    String getTaskDescription();
+}
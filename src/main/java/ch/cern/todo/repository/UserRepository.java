@@ -1,8 +1,13 @@
 package ch.cern.todo.repository;
 
 import ch.cern.todo.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -15,6 +20,8 @@ import java.util.Optional;
  * - Custom query method for username-based user lookup
  * - Spring Data JPA implementation
  * - Automatic query generation
+ * - Lookup with roles in the same statement for authentication
+ * - Conditional password hash update for re-encoding on sign-in
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -25,4 +32,20 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * Returns an Optional to handle cases where the user might not exist.
      */
     Optional<User> findByUsername(String username);
+
+    /**
+     * Finds a user by their username, fetching the roles in the same statement.
+     */
+    @EntityGraph(User.WITH_ROLES)
+    Optional<User> findWithRolesByUsername(String username);
+
+    /**
+     * Replaces a user's password hash, provided it is still the given one.
+     * Returns 0 when the password was changed in the meantime, which then must not be undone.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.username = :username AND u.password = :expectedHash")
+    int updatePasswordIfUnchanged(@Param("username") String username, @Param("expectedHash") String expectedHash,
+                                  @Param("newHash") String newHash);
 }
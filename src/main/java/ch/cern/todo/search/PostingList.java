@@ -0,0 +1,84 @@
+package ch.cern.todo.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted list of document IDs for one index term.
+ * Backed by a primitive array so large postings cost 8 bytes per entry and can be
+ * probed with a binary search. Not thread-safe; callers synchronize.
+ */
+final class PostingList {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Adds a document ID, keeping the list sorted and free of duplicates.
+     * IDs are assigned in increasing order, so the common case is an append.
+     */
+    void add(long id) {
+        if (size > 0 && ids[size - 1] < id) {
+            append(id);
+            return;
+        }
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) {
+            return;
+        }
+        int insertAt = -pos - 1;
+        ensureCapacity(size + 1);
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+    }
+
+    /**
+     * Removes a document ID if present.
+     */
+    void remove(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) {
+            return;
+        }
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+    }
+
+    /**
+     * Checks whether the list contains a document ID.
+     */
+    boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    /**
+     * Gets the document ID at the given position.
+     */
+    long get(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Gets the number of document IDs.
+     */
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void append(long id) {
+        ensureCapacity(size + 1);
+        ids[size++] = id;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > ids.length) {
+            ids = Arrays.copyOf(ids, Math.max(capacity, ids.length * 2));
+        }
+    }
+}
@@ -0,0 +1,504 @@
+package ch.cern.todo.search;
+
+import ch.cern.todo.dto.TaskFullTextHit;
+import ch.cern.todo.dto.TaskResponseDTO;
+import ch.cern.todo.event.TaskCategoryChangedEvent;
+import ch.cern.todo.event.TaskChangedEvent;
+import ch.cern.todo.model.TaskCategory;
+import ch.cern.todo.repository.TaskCategoryRepository;
+import ch.cern.todo.repository.TaskDocumentView;
+import ch.cern.todo.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.similarities.BM25Similarity;
+import org.apache.lucene.search.similarities.Similarity;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Embedded Lucene index over task names, descriptions and category names.
+ * Serves ranked full-text search (stemmed English tokens, BM25 scoring) from a local
+ * directory, so text queries never reach the database.
+ *
+ * All writes go through a queue drained by a single writer thread, which applies them in
+ * batches and commits once per batch; searchers are refreshed after each commit. A rebuild
+ * reads the task table in ID order and feeds the same queue, so searches keep being served
+ * from the previous documents until the rebuild is done.
+ *
+ * Features:
+ * - Field-weighted BM25 ranking (name over category over description)
+ * - Asynchronous, batched maintenance from task and category write events (after commit)
+ * - Non-blocking rebuild from the database, also run at startup
+ * - Owner filter for non-admin searches
+ */
+@Component
+public class TaskFullTextIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskFullTextIndex.class);
+
+    static final String ID = "id";
+    static final String NAME = "name";
+    static final String DESCRIPTION = "description";
+    static final String CATEGORY = "category";
+    static final String CATEGORY_ID = "categoryId";
+    static final String OWNER = "owner";
+    static final String DEADLINE = "deadline";
+    static final String GENERATION = "generation";
+
+    /**
+     * Relative weight of each searched field.
+     */
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(NAME, 3f, CATEGORY, 1.5f, DESCRIPTION, 1f);
+
+    private static final Similarity SIMILARITY = new BM25Similarity();
+
+    /**
+     * How long to wait for the writer thread on shutdown.
+     */
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final TaskRepository taskRepository;
+    private final TaskCategoryRepository categoryRepository;
+    private final int batchSize;
+
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    private final BlockingQueue<Operation> queue = new LinkedBlockingQueue<>();
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    /**
+     * Generation stamped on every document written. A rebuild starts a new generation
+     * and finally drops every document left over from an older one.
+     */
+    private volatile long generation;
+
+    /**
+     * Set only after the generation of the rebuild is, so an event that sees it set
+     * is written with that generation and survives the final cleanup.
+     */
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    /**
+     * Tasks written by events while a rebuild is running. The rebuild skips them,
+     * since the row it read may be older than the event.
+     */
+    private final Set<Long> touchedWhileRebuilding = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Opens (or creates) the index directory and starts the writer thread.
+     */
+    public TaskFullTextIndex(TaskRepository taskRepository,
+                             TaskCategoryRepository categoryRepository,
+                             @Value("${todo.search.fulltext.directory:./fulltext-index}") Path path,
+                             @Value("${todo.search.fulltext.batch-size:500}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Full-text batch size must be positive");
+        }
+        this.taskRepository = taskRepository;
+        this.categoryRepository = categoryRepository;
+        this.batchSize = batchSize;
+        try {
+            this.directory = FSDirectory.open(path);
+            IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND)
+                    .setSimilarity(SIMILARITY);
+            this.writer = new IndexWriter(directory, config);
+            this.searcherManager = new SearcherManager(writer, new SearcherFactory() {
+                @Override
+                public IndexSearcher newSearcher(IndexReader reader, IndexReader previousReader) {
+                    IndexSearcher searcher = new IndexSearcher(reader);
+                    searcher.setSimilarity(SIMILARITY);
+                    return searcher;
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open full-text index at " + path, e);
+        }
+        this.generation = committedGeneration();
+
+        this.writerThread = new Thread(this::drain, "fulltext-index-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Rebuilds the index in the background once the application has started,
+     * picking up any change made while it was not running.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildAsync();
+    }
+
+    /**
+     * Queues a committed task write for indexing.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        long taskId = event.getTaskId();
+        if (rebuilding.get()) {
+            touchedWhileRebuilding.add(taskId);
+        }
+        if (event.isDeletion()) {
+            queue.add(() -> writer.deleteDocuments(idTerm(taskId)));
+            return;
+        }
+        TaskDocument document = TaskDocument.from(event);
+        queue.add(() -> writer.updateDocument(idTerm(taskId), toDocument(resolveCategoryName(document))));
+    }
+
+    /**
+     * Queues a committed category change, rewriting the category name of its tasks.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(TaskCategoryChangedEvent event) {
+        queue.add(() -> renameCategory(event.getCategoryId(), event.getCategoryName()));
+    }
+
+    /**
+     * Starts a rebuild from the database on a background thread.
+     * Returns false when a rebuild is already running.
+     */
+    public synchronized boolean rebuildAsync() {
+        if (rebuilding.get()) {
+            return false;
+        }
+        long target = generation + 1;
+        touchedWhileRebuilding.clear();
+        generation = target;
+        rebuilding.set(true);
+        Thread thread = new Thread(() -> rebuild(target), "fulltext-index-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    /**
+     * Checks whether a rebuild is running.
+     */
+    public boolean isRebuilding() {
+        return rebuilding.get();
+    }
+
+    /**
+     * Searches the index and returns the best matches, highest score first.
+     * When ownerUsername is set, only that user's tasks are considered.
+     */
+    public List<TaskFullTextHit> search(String text, String ownerUsername, int limit) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Search text cannot be empty");
+        }
+        Query query = new SimpleQueryParser(analyzer, FIELD_WEIGHTS).parse(text);
+        if (ownerUsername != null) {
+            query = new BooleanQuery.Builder()
+                    .add(query, BooleanClause.Occur.MUST)
+                    .add(new TermQuery(new Term(OWNER, ownerUsername)), BooleanClause.Occur.FILTER)
+                    .build();
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(query, limit);
+                StoredFields stored = searcher.storedFields();
+                List<TaskFullTextHit> hits = new ArrayList<>(top.scoreDocs.length);
+                for (ScoreDoc scoreDoc : top.scoreDocs) {
+                    TaskDocument document = TaskDocument.from(stored.document(scoreDoc.doc));
+                    hits.add(new TaskFullTextHit(document.toResponse(), scoreDoc.score));
+                }
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Full-text search failed", e);
+        }
+    }
+
+    /**
+     * Waits until every write queued so far is committed and visible to searches.
+     * Returns false if the timeout elapsed first.
+     */
+    public boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        queue.add(new Flush(done));
+        return done.await(timeout, unit);
+    }
+
+    /**
+     * Stops the writer thread after it has applied the queued writes, then closes the index.
+     */
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(SHUTDOWN_TIMEOUT_SECONDS));
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Writer thread loop: takes whatever is queued, up to one batch, applies it and commits.
+     */
+    private void drain() {
+        List<Operation> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Operation first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                apply(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void apply(List<Operation> batch) {
+        for (Operation operation : batch) {
+            try {
+                operation.apply();
+            } catch (IOException | RuntimeException e) {
+                log.error("Full-text index update failed", e);
+            }
+        }
+        try {
+            writer.commit();
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.error("Full-text index commit failed", e);
+        }
+        for (Operation operation : batch) {
+            if (operation instanceof Flush flush) {
+                flush.done().countDown();
+            }
+        }
+    }
+
+    /**
+     * Reads the task table in ID order and re-adds every task under a new generation,
+     * then removes documents of tasks that no longer exist.
+     */
+    private void rebuild(long target) {
+        long start = System.nanoTime();
+        try {
+            long afterId = 0L;
+            int indexed = 0;
+            List<TaskDocumentView> rows;
+            do {
+                rows = taskRepository.findDocumentsAfter(afterId, Limit.of(batchSize));
+                List<TaskDocument> documents = new ArrayList<>(rows.size());
+                for (TaskDocumentView row : rows) {
+                    documents.add(TaskDocument.from(row));
+                    afterId = row.getTaskId();
+                }
+                queue.add(() -> {
+                    for (TaskDocument document : documents) {
+                        if (!touchedWhileRebuilding.contains(document.taskId())) {
+                            writer.updateDocument(idTerm(document.taskId()), toDocument(document));
+                        }
+                    }
+                });
+                // Keep at most one batch in flight so a large table is not buffered in memory
+                flush(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                indexed += rows.size();
+            } while (rows.size() == batchSize && running);
+
+            queue.add(() -> {
+                writer.deleteDocuments(LongPoint.newRangeQuery(GENERATION, Long.MIN_VALUE, target - 1));
+                writer.setLiveCommitData(Map.of(GENERATION, Long.toString(target)).entrySet());
+            });
+            flush(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            log.info("Full-text index rebuilt with {} tasks in {} ms", indexed, (System.nanoTime() - start) / 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Full-text index rebuild failed", e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Rewrites the category name of every document in a category.
+     * Runs on the writer thread, so the refreshed searcher sees all earlier writes.
+     */
+    private void renameCategory(Long categoryId, String categoryName) throws IOException {
+        searcherManager.maybeRefreshBlocking();
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs top = searcher.search(new TermQuery(new Term(CATEGORY_ID, categoryId.toString())),
+                    Math.max(1, searcher.getIndexReader().maxDoc()));
+            StoredFields stored = searcher.storedFields();
+            for (ScoreDoc scoreDoc : top.scoreDocs) {
+                TaskDocument document = TaskDocument.from(stored.document(scoreDoc.doc)).withCategoryName(categoryName);
+                writer.updateDocument(idTerm(document.taskId()), toDocument(document));
+            }
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * Sets the stored name of the task's category. The name carried by the event may come
+     * from a request body, so it is never indexed; the lookup is served from the
+     * second-level cache.
+     */
+    private TaskDocument resolveCategoryName(TaskDocument document) {
+        if (document.categoryId() == null) {
+            return document.withCategoryName(null);
+        }
+        return document.withCategoryName(categoryRepository.findById(document.categoryId())
+                .map(TaskCategory::getCategoryName)
+                .orElse(null));
+    }
+
+    private Document toDocument(TaskDocument task) {
+        Document document = new Document();
+        document.add(new StringField(ID, Long.toString(task.taskId()), Field.Store.YES));
+        document.add(new TextField(NAME, task.name() != null ? task.name() : "", Field.Store.YES));
+        if (task.description() != null) {
+            document.add(new TextField(DESCRIPTION, task.description(), Field.Store.YES));
+        }
+        if (task.categoryName() != null) {
+            document.add(new TextField(CATEGORY, task.categoryName(), Field.Store.YES));
+        }
+        if (task.categoryId() != null) {
+            document.add(new StringField(CATEGORY_ID, task.categoryId().toString(), Field.Store.YES));
+        }
+        if (task.ownerUsername() != null) {
+            document.add(new StringField(OWNER, task.ownerUsername(), Field.Store.YES));
+        }
+        if (task.deadline() != null) {
+            document.add(new StoredField(DEADLINE, task.deadline().toString()));
+        }
+        document.add(new LongPoint(GENERATION, generation));
+        return document;
+    }
+
+    private long committedGeneration() {
+        for (Map.Entry<String, String> entry : writer.getLiveCommitData()) {
+            if (GENERATION.equals(entry.getKey())) {
+                return Long.parseLong(entry.getValue());
+            }
+        }
+        return 0L;
+    }
+
+    private static Term idTerm(long taskId) {
+        return new Term(ID, Long.toString(taskId));
+    }
+
+    /**
+     * A queued index write, applied on the writer thread.
+     */
+    @FunctionalInterface
+    private interface Operation {
+        void apply() throws IOException;
+    }
+
+    /**
+     * Marker operation released once everything queued before it has been committed.
+     */
+    private record Flush(CountDownLatch done) implements Operation {
+        @Override
+        public void apply() {
+        }
+    }
+
+    /**
+     * Indexed snapshot of a task, independent of where it was read from.
+     */
+    private record TaskDocument(long taskId, String name, String description, LocalDateTime deadline,
+                                Long categoryId, String categoryName, String ownerUsername) {
+
+        static TaskDocument from(TaskChangedEvent event) {
+            return new TaskDocument(event.getTaskId(), event.getTaskName(), event.getTaskDescription(),
+                    event.getDeadline(), event.getCategoryId(), event.getCategoryName(), event.getOwnerUsername());
+        }
+
+        static TaskDocument from(TaskDocumentView view) {
+            return new TaskDocument(view.getTaskId(), view.getTaskName(), view.getTaskDescription(),
+                    view.getDeadline(), view.getCategoryId(), view.getCategoryName(), view.getOwnerUsername());
+        }
+
+        static TaskDocument from(Document document) {
+            String categoryId = document.get(CATEGORY_ID);
+            String deadline = document.get(DEADLINE);
+            return new TaskDocument(Long.parseLong(document.get(ID)), document.get(NAME), document.get(DESCRIPTION),
+                    deadline != null ? LocalDateTime.parse(deadline) : null,
+                    categoryId != null ? Long.valueOf(categoryId) : null,
+                    document.get(CATEGORY), document.get(OWNER));
+        }
+
+        TaskDocument withCategoryName(String newCategoryName) {
+            return new TaskDocument(taskId, name, description, deadline, categoryId, newCategoryName, ownerUsername);
+        }
+
+        TaskResponseDTO toResponse() {
+            return TaskResponseDTO.builder()
+                    .taskId(taskId)
+                    .taskName(name)
+                    .taskDescription(description)
+                    .deadline(deadline)
+                    .categoryName(categoryName)
+                    .username(ownerUsername)
+                    .build();
+        }
+    }
+}
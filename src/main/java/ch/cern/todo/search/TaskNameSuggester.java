@@ -0,0 +1,112 @@
+package ch.cern.todo.search;
+
+import ch.cern.todo.event.TaskChangedEvent;
+import ch.cern.todo.repository.TaskRepository;
+import ch.cern.todo.repository.TaskTextView;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Task name autocomplete and typo-tolerant name lookup, served from in-memory indexes
+ * kept per user: a name trie for prefixes and a word dictionary for fuzzy matches.
+ * A user's indexes are built from the database on their first lookup and then kept
+ * current from task write events, so typing never turns into LIKE queries.
+ *
+ * Features:
+ * - Lazy, per-user indexes
+ * - Bounded number of resident users, idle indexes dropped
+ * - Incremental maintenance after commit
+ */
+@Component
+public class TaskNameSuggester {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskNameSuggester.class);
+
+    private final TaskRepository taskRepository;
+    private final Cache<String, UserIndex> indexes;
+
+    /**
+     * Indexes over the task names of one user.
+     */
+    private record UserIndex(TaskNameTrie names, TaskTermDictionary terms) {
+
+        void put(long taskId, String name) {
+            names.put(taskId, name);
+            terms.put(taskId, name);
+        }
+
+        void remove(long taskId) {
+            names.remove(taskId);
+            terms.remove(taskId);
+        }
+    }
+
+    /**
+     * Constructs the suggester with the repository used to build tries.
+     */
+    public TaskNameSuggester(TaskRepository taskRepository,
+                             @Value("${todo.suggest.max-users:10000}") long maxUsers,
+                             @Value("${todo.suggest.idle-timeout:PT30M}") Duration idleTimeout) {
+        this.taskRepository = taskRepository;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    /**
+     * Returns up to {@code limit} names of the user's tasks starting with the prefix.
+     */
+    public List<String> suggest(String username, String prefix, int limit) {
+        return indexes.get(username, this::load).names().suggest(prefix, limit);
+    }
+
+    /**
+     * Returns up to {@code limit} of the user's tasks whose names match every word of
+     * the query within the given edit distance, closest first.
+     */
+    public List<TaskTermDictionary.Match> fuzzyMatch(String username, String query, int maxDistance, int limit) {
+        return indexes.get(username, this::load).terms().match(query, maxDistance, limit);
+    }
+
+    /**
+     * Applies a committed task write to the owner's indexes, if they are loaded.
+     * Runs under the cache's per-key lock, so it waits for a trie being built
+     * concurrently and is applied on top of them instead of being lost.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getOwnerUsername() == null) {
+            // Owner unknown: no way to tell which index holds the task
+            indexes.invalidateAll();
+            return;
+        }
+        indexes.asMap().computeIfPresent(event.getOwnerUsername(), (username, index) -> {
+            if (event.isDeletion()) {
+                index.remove(event.getTaskId());
+            } else {
+                index.put(event.getTaskId(), event.getTaskName());
+            }
+            return index;
+        });
+    }
+
+    private UserIndex load(String username) {
+        long start = System.nanoTime();
+        UserIndex index = new UserIndex(new TaskNameTrie(), new TaskTermDictionary());
+        for (TaskTextView task : taskRepository.findTextByOwner(username)) {
+            index.put(task.getTaskId(), task.getTaskName());
+        }
+        log.debug("Built name indexes for {} with {} tasks in {} us", username, index.names().size(),
+                (System.nanoTime() - start) / 1_000);
+        return index;
+    }
+}
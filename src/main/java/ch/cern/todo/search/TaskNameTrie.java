@@ -0,0 +1,257 @@
+package ch.cern.todo.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compact prefix trie over the task names of one user, answering autocomplete queries.
+ * Children are kept in sorted parallel arrays, and every node caches the best
+ * {@link #MAX_SUGGESTIONS} names of its subtree, so a lookup costs one walk down the
+ * prefix regardless of how many names share it.
+ *
+ * Names are matched case-insensitively and ranked by the number of tasks carrying them,
+ * then alphabetically; each name is suggested in the spelling it was first added with.
+ *
+ * Features:
+ * - Thread-safe (many readers, one writer)
+ * - Incremental put and remove by task ID
+ * - Per-node top-N cache, repaired along the changed path only
+ */
+public class TaskNameTrie {
+
+    /**
+     * Largest number of suggestions a lookup can return.
+     */
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Node[] NO_TOP = new Node[0];
+
+    /**
+     * Ranking of terminal nodes: most used first, then alphabetical.
+     */
+    private static final Comparator<Node> RANKING = Comparator
+            .comparingInt((Node node) -> node.count).reversed()
+            .thenComparing(node -> node.key);
+
+    private static final class Node {
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+
+        /**
+         * Normalized name ending here, or null.
+         */
+        String key;
+
+        /**
+         * Name as first added, for display.
+         */
+        String display;
+
+        /**
+         * Number of tasks with this name; terminal when positive.
+         */
+        int count;
+
+        /**
+         * Best terminal nodes of this subtree, ranked.
+         */
+        Node[] top = NO_TOP;
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node addChild(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            int at = -i - 1;
+            Node node = new Node();
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            newKeys[at] = c;
+            newChildren[at] = node;
+            System.arraycopy(keys, at, newKeys, at + 1, keys.length - at);
+            System.arraycopy(children, at, newChildren, at + 1, children.length - at);
+            keys = newKeys;
+            children = newChildren;
+            return node;
+        }
+
+        void removeChild(char c) {
+            int at = Arrays.binarySearch(keys, c);
+            if (at < 0) {
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            System.arraycopy(keys, at + 1, newKeys, at, keys.length - at - 1);
+            System.arraycopy(children, at + 1, newChildren, at, children.length - at - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        boolean isEmpty() {
+            return count == 0 && keys.length == 0;
+        }
+
+        /**
+         * Recomputes the cached best names from this node and its children.
+         */
+        void updateTop() {
+            List<Node> candidates = new ArrayList<>();
+            if (count > 0) {
+                candidates.add(this);
+            }
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(RANKING);
+            top = candidates.subList(0, Math.min(MAX_SUGGESTIONS, candidates.size())).toArray(NO_TOP);
+        }
+    }
+
+    private final Node root = new Node();
+
+    /**
+     * Name of every indexed task, as added, used for updates and removal.
+     */
+    private final Map<Long, String> names = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Adds or renames a task. A null name removes the task.
+     */
+    public void put(long taskId, String name) {
+        lock.writeLock().lock();
+        try {
+            String previous = names.remove(taskId);
+            if (previous != null) {
+                decrement(previous);
+            }
+            if (name != null && !name.isBlank()) {
+                names.put(taskId, name);
+                increment(name);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a task.
+     */
+    public void remove(long taskId) {
+        put(taskId, null);
+    }
+
+    /**
+     * Returns up to {@code limit} task names starting with the prefix, ignoring case,
+     * best ranked first.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            int n = Math.min(limit, node.top.length);
+            List<String> suggestions = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                suggestions.add(node.top[i].display);
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of indexed tasks.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return names.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void increment(String name) {
+        String key = normalize(name);
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].addChild(key.charAt(i));
+        }
+        Node terminal = path[key.length()];
+        if (terminal.count++ == 0) {
+            terminal.key = key;
+            terminal.display = name;
+        }
+        repair(path);
+    }
+
+    private void decrement(String name) {
+        String key = normalize(name);
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].child(key.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        Node terminal = path[key.length()];
+        if (terminal.count == 0) {
+            return;
+        }
+        if (--terminal.count == 0) {
+            terminal.key = null;
+            terminal.display = null;
+        }
+        // Prune nodes left without names or children, bottom-up
+        for (int i = key.length(); i > 0 && path[i].isEmpty(); i--) {
+            path[i - 1].removeChild(key.charAt(i - 1));
+            path[i] = null;
+        }
+        repair(path);
+    }
+
+    /**
+     * Recomputes the cached best names along a path, deepest node first.
+     */
+    private static void repair(Node[] path) {
+        for (int i = path.length - 1; i >= 0; i--) {
+            if (path[i] != null) {
+                path[i].updateTop();
+            }
+        }
+    }
+
+    static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,222 @@
+package ch.cern.todo.search;
+
+import ch.cern.todo.dto.TaskResponseDTO;
+import ch.cern.todo.dto.TaskSearchCriteria;
+import ch.cern.todo.dto.TaskSearchFacets;
+import ch.cern.todo.dto.TaskSearchPage;
+import ch.cern.todo.event.TaskCategoryChangedEvent;
+import ch.cern.todo.event.TaskChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of task search pages, keyed by the normalized search parameters and
+ * the caller's identity.
+ *
+ * Entries are validated against write generations instead of being evicted on writes.
+ * Every task write bumps the generation of its owner, its category and the global
+ * generation; category changes bump the catalog generation. A page is stamped, before
+ * its query runs, with the narrowest generation covering it (owner if the search filters
+ * by username, else category if it filters by category, else global) plus the catalog
+ * generation, and is served only while both are unchanged. Generations are bumped after
+ * commit, so a page read from data older than a write is always stamped older than it.
+ *
+ * Features:
+ * - Size bound in estimated bytes, not entries
+ * - Short time-to-live, so time-relative deadline facets do not drift
+ * - Hit, miss, eviction and weight metrics under the "taskSearch" cache name
+ */
+@Component
+public class TaskSearchCache {
+
+    /**
+     * Cache name used for metrics.
+     */
+    public static final String CACHE_NAME = "taskSearch";
+
+    /**
+     * Rough fixed cost of an entry: key, stamp, page and map node.
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    /**
+     * Rough fixed cost of one task DTO, without its strings.
+     */
+    private static final int ITEM_OVERHEAD_BYTES = 96;
+
+    /**
+     * Rough cost of one facet map entry.
+     */
+    private static final int FACET_ENTRY_BYTES = 64;
+
+    private final Cache<Key, Entry> cache;
+
+    private final AtomicLong globalGeneration = new AtomicLong();
+    private final AtomicLong catalogGeneration = new AtomicLong();
+    private final Map<String, AtomicLong> userGenerations = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> categoryGenerations = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the cache and registers its metrics.
+     */
+    public TaskSearchCache(MeterRegistry meterRegistry,
+                           @Value("${todo.search.cache.max-weight-bytes:16777216}") long maxWeightBytes,
+                           @Value("${todo.search.cache.ttl:PT1M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((Key key, Entry entry) -> entry.weight())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.weight", this, TaskSearchCache::estimatedWeight)
+                .tag("cache", CACHE_NAME)
+                .baseUnit("bytes")
+                .description("Estimated size of the cached search pages")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cache key: the search parameters after normalization, and who asked.
+     * The criteria are copied, so later changes to the caller's instance cannot alter the key.
+     */
+    public record Key(TaskSearchCriteria criteria, String cursor, int size,
+                      boolean facets, boolean byOwner, String caller) {
+
+        public Key {
+            criteria = criteria.copy();
+        }
+    }
+
+    /**
+     * Generations a page was computed under.
+     */
+    public record Stamp(long scope, long catalog) {
+    }
+
+    private record Entry(Stamp stamp, TaskSearchPage page, int weight) {
+    }
+
+    /**
+     * Captures the generations covering a search. Must be called before the search runs.
+     */
+    public Stamp stamp(TaskSearchCriteria criteria) {
+        long scope;
+        if (criteria.getUsername() != null && !criteria.getUsername().isBlank()) {
+            scope = generation(userGenerations, criteria.getUsername());
+        } else if (criteria.getCategoryId() != null) {
+            scope = generation(categoryGenerations, criteria.getCategoryId());
+        } else {
+            scope = globalGeneration.get();
+        }
+        return new Stamp(scope, catalogGeneration.get());
+    }
+
+    /**
+     * Returns a copy of the cached page if it is still current for the given stamp, else null.
+     */
+    public TaskSearchPage get(Key key, Stamp stamp) {
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!entry.stamp().equals(stamp)) {
+            cache.asMap().remove(key, entry);
+            return null;
+        }
+        return entry.page().copy();
+    }
+
+    /**
+     * Caches a page computed under the given stamp.
+     */
+    public void put(Key key, Stamp stamp, TaskSearchPage page) {
+        cache.put(key, new Entry(stamp, page.copy(), estimateBytes(key, page)));
+    }
+
+    /**
+     * Bumps the generations touched by a committed task write.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getOwnerUsername() == null || event.getCategoryId() == null) {
+            // Owner or category unknown: every entry may be affected
+            catalogGeneration.incrementAndGet();
+            return;
+        }
+        bump(userGenerations, event.getOwnerUsername());
+        bump(categoryGenerations, event.getCategoryId());
+        if (event.getPreviousCategoryId() != null && !event.getPreviousCategoryId().equals(event.getCategoryId())) {
+            // The task also left the pages of its former category
+            bump(categoryGenerations, event.getPreviousCategoryId());
+        }
+        globalGeneration.incrementAndGet();
+    }
+
+    /**
+     * Bumps the catalog generation after a committed category change; category names
+     * appear in pages of any scope.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(TaskCategoryChangedEvent event) {
+        bump(categoryGenerations, event.getCategoryId());
+        catalogGeneration.incrementAndGet();
+    }
+
+    /**
+     * Gets the estimated size of the cache contents in bytes.
+     */
+    public long estimatedWeight() {
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    private static <K> long generation(Map<K, AtomicLong> generations, K key) {
+        AtomicLong generation = generations.get(key);
+        return generation != null ? generation.get() : 0L;
+    }
+
+    private static <K> void bump(Map<K, AtomicLong> generations, K key) {
+        generations.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Estimates the retained size of an entry from its string lengths and element counts.
+     */
+    static int estimateBytes(Key key, TaskSearchPage page) {
+        long bytes = ENTRY_OVERHEAD_BYTES
+                + chars(key.criteria().getUsername())
+                + chars(key.criteria().getName())
+                + chars(key.criteria().getDescription())
+                + chars(key.cursor())
+                + chars(key.caller())
+                + chars(page.getNextCursor());
+        for (TaskResponseDTO item : page.getItems()) {
+            bytes += ITEM_OVERHEAD_BYTES
+                    + chars(item.getTaskName())
+                    + chars(item.getTaskDescription())
+                    + chars(item.getCategoryName())
+                    + chars(item.getUsername());
+        }
+        TaskSearchFacets facets = page.getFacets();
+        if (facets != null) {
+            bytes += (long) FACET_ENTRY_BYTES * (facets.getCategories().size() + facets.getDeadlines().size()
+                    + (facets.getOwners() != null ? facets.getOwners().size() : 0));
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static long chars(String value) {
+        return value != null ? 40L + 2L * value.length() : 0L;
+    }
+}
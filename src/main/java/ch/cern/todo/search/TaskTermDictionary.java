@@ -0,0 +1,300 @@
+package ch.cern.todo.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Dictionary of the words in the task names of one user, answering typo-tolerant lookups.
+ * Words are stored in a trie whose terminal nodes hold the IDs of the tasks using them.
+ *
+ * A lookup runs a Levenshtein automaton for each query word over the trie: the automaton
+ * state is the dynamic-programming row of edit distances between the query word and the
+ * current trie path, advanced one character per edge. A branch is abandoned as soon as
+ * every entry of its row exceeds the allowed distance, so the work depends on the query
+ * word and the distance bound, not on the number of words in the dictionary.
+ *
+ * Features:
+ * - Thread-safe (many readers, one writer)
+ * - Incremental put and remove by task ID
+ * - Edit distance up to {@link #MAX_DISTANCE}, reduced automatically for short words
+ * - Results ranked by total distance over all query words
+ */
+public class TaskTermDictionary {
+
+    /**
+     * Largest supported edit distance per query word.
+     */
+    public static final int MAX_DISTANCE = 2;
+
+    /**
+     * Query words beyond this number are ignored.
+     */
+    public static final int MAX_QUERY_TERMS = 8;
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private static final class Node {
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+
+        /**
+         * Tasks whose name contains the word ending here, or null.
+         */
+        PostingList postings;
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node addChild(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            int at = -i - 1;
+            Node node = new Node();
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            newKeys[at] = c;
+            newChildren[at] = node;
+            System.arraycopy(keys, at, newKeys, at + 1, keys.length - at);
+            System.arraycopy(children, at, newChildren, at + 1, children.length - at);
+            keys = newKeys;
+            children = newChildren;
+            return node;
+        }
+
+        void removeChild(char c) {
+            int at = Arrays.binarySearch(keys, c);
+            if (at < 0) {
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            System.arraycopy(keys, at + 1, newKeys, at, keys.length - at - 1);
+            System.arraycopy(children, at + 1, newChildren, at, children.length - at - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        boolean isEmpty() {
+            return postings == null && keys.length == 0;
+        }
+    }
+
+    /**
+     * One task matching a fuzzy lookup.
+     *
+     * @param taskId   the task ID
+     * @param name     the task name
+     * @param distance sum of the edit distances of all query words; 0 is an exact match
+     */
+    public record Match(long taskId, String name, int distance) {
+    }
+
+    private static final Comparator<Match> RANKING = Comparator
+            .comparingInt(Match::distance)
+            .thenComparing(Match::name, String.CASE_INSENSITIVE_ORDER)
+            .thenComparingLong(Match::taskId);
+
+    private final Node root = new Node();
+
+    /**
+     * Name of every indexed task, used for updates, removal and ranking.
+     */
+    private final Map<Long, String> names = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Adds or renames a task. A null name removes the task.
+     */
+    public void put(long taskId, String name) {
+        lock.writeLock().lock();
+        try {
+            String previous = names.remove(taskId);
+            if (previous != null) {
+                for (String term : terms(previous)) {
+                    removePosting(term, taskId);
+                }
+            }
+            if (name != null && !name.isBlank()) {
+                names.put(taskId, name);
+                for (String term : terms(name)) {
+                    addPosting(term, taskId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a task.
+     */
+    public void remove(long taskId) {
+        put(taskId, null);
+    }
+
+    /**
+     * Finds the tasks whose name contains, for every word of the query, a word within
+     * the allowed edit distance of it. Best matches come first: lowest total distance,
+     * then name, then task ID.
+     */
+    public List<Match> match(String query, int maxDistance, int limit) {
+        List<String> queryTerms = terms(query).stream().limit(MAX_QUERY_TERMS).toList();
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> distances = null;
+            for (String term : queryTerms) {
+                Map<Long, Integer> termDistances = lookup(term, Math.min(maxDistance, autoDistance(term)));
+                if (distances == null) {
+                    distances = termDistances;
+                } else {
+                    // Every query word must match; distances add up
+                    distances.keySet().retainAll(termDistances.keySet());
+                    distances.replaceAll((taskId, distance) -> distance + termDistances.get(taskId));
+                }
+                if (distances.isEmpty()) {
+                    return List.of();
+                }
+            }
+            List<Match> matches = new ArrayList<>(distances.size());
+            distances.forEach((taskId, distance) -> matches.add(new Match(taskId, names.get(taskId), distance)));
+            matches.sort(RANKING);
+            return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of indexed tasks.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return names.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the smallest distance to the query word for every task containing a word
+     * within the allowed distance.
+     */
+    private Map<Long, Integer> lookup(String term, int maxDistance) {
+        Map<Long, Integer> distances = new HashMap<>();
+        int[] row = new int[term.length() + 1];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = i;
+        }
+        walk(root, term, row, maxDistance, distances);
+        return distances;
+    }
+
+    /**
+     * Advances the automaton along every child edge of a node, collecting the postings
+     * of accepted words and pruning branches that can no longer be accepted.
+     */
+    private static void walk(Node node, String term, int[] row, int maxDistance, Map<Long, Integer> distances) {
+        int distance = row[term.length()];
+        if (node.postings != null && distance <= maxDistance) {
+            for (int i = 0; i < node.postings.size(); i++) {
+                distances.merge(node.postings.get(i), distance, Math::min);
+            }
+        }
+        for (int k = 0; k < node.keys.length; k++) {
+            char c = node.keys[k];
+            int[] next = new int[row.length];
+            next[0] = row[0] + 1;
+            int best = next[0];
+            for (int i = 1; i < row.length; i++) {
+                int substitution = row[i - 1] + (term.charAt(i - 1) == c ? 0 : 1);
+                next[i] = Math.min(substitution, Math.min(row[i] + 1, next[i - 1] + 1));
+                best = Math.min(best, next[i]);
+            }
+            if (best <= maxDistance) {
+                walk(node.children[k], term, next, maxDistance, distances);
+            }
+        }
+    }
+
+    private void addPosting(String term, long taskId) {
+        Node node = root;
+        for (int i = 0; i < term.length(); i++) {
+            node = node.addChild(term.charAt(i));
+        }
+        if (node.postings == null) {
+            node.postings = new PostingList();
+        }
+        node.postings.add(taskId);
+    }
+
+    private void removePosting(String term, long taskId) {
+        Node[] path = new Node[term.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < term.length(); i++) {
+            path[i + 1] = path[i].child(term.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        Node terminal = path[term.length()];
+        if (terminal.postings == null) {
+            return;
+        }
+        terminal.postings.remove(taskId);
+        if (terminal.postings.isEmpty()) {
+            terminal.postings = null;
+        }
+        // Prune nodes left without postings or children, bottom-up
+        for (int i = term.length(); i > 0 && path[i].isEmpty(); i--) {
+            path[i - 1].removeChild(term.charAt(i - 1));
+        }
+    }
+
+    /**
+     * Gets the largest useful edit distance for a query word: exact for one or two
+     * characters, one typo up to five, two beyond. Short words would otherwise match
+     * nearly everything.
+     */
+    static int autoDistance(String term) {
+        if (term.length() <= 2) {
+            return 0;
+        }
+        return term.length() <= 5 ? 1 : MAX_DISTANCE;
+    }
+
+    /**
+     * Splits text into its distinct lowercase words.
+     */
+    static Set<String> terms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                terms.add(word);
+            }
+        }
+        return terms;
+    }
+}
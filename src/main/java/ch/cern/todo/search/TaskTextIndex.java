@@ -0,0 +1,158 @@
+package ch.cern.todo.search;
+
+import ch.cern.todo.dto.TaskSearchCriteria;
+import ch.cern.todo.event.TaskChangedEvent;
+import ch.cern.todo.repository.TaskRepository;
+import ch.cern.todo.repository.TaskTextView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Trigram indexes over task names and descriptions.
+ * Lets substring filters be answered in memory and turned into a short list of task IDs,
+ * so the database no longer scans and lowercases every row for LIKE '%...%'.
+ *
+ * Features:
+ * - Built from the database at startup
+ * - Maintained incrementally from task write events (after commit)
+ * - Falls back to the SQL LIKE path while loading or for very broad matches
+ */
+@Component
+public class TaskTextIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskTextIndex.class);
+
+    /**
+     * Number of rows read per round trip while loading.
+     */
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    /**
+     * Largest match set handed to the database as an ID list.
+     * Broader matches are left to the SQL LIKE predicate to keep the statement small.
+     */
+    public static final int MAX_ID_FILTER = 1000;
+
+    private final TaskRepository taskRepository;
+    private final TrigramIndex names = new TrigramIndex();
+    private final TrigramIndex descriptions = new TrigramIndex();
+
+    /**
+     * Tasks deleted while the initial load was running, so the load does not resurrect them.
+     */
+    private final Set<Long> deletedWhileLoading = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean ready;
+
+    /**
+     * Constructs the index with the repository used for the initial load.
+     */
+    public TaskTextIndex(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    /**
+     * Loads all tasks into the indexes once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        long afterId = 0L;
+        int loaded = 0;
+        List<TaskTextView> batch;
+        do {
+            batch = taskRepository.findTextAfter(afterId, Limit.of(LOAD_BATCH_SIZE));
+            for (TaskTextView row : batch) {
+                if (!deletedWhileLoading.contains(row.getTaskId())) {
+                    names.putIfAbsent(row.getTaskId(), row.getTaskName());
+                    descriptions.putIfAbsent(row.getTaskId(), row.getTaskDescription());
+                }
+                afterId = row.getTaskId();
+            }
+            loaded += batch.size();
+        } while (batch.size() == LOAD_BATCH_SIZE);
+
+        ready = true;
+        deletedWhileLoading.clear();
+        log.info("Task text index loaded {} tasks in {} ms", loaded, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Applies a committed task write to the indexes.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        long taskId = event.getTaskId();
+        if (event.isDeletion()) {
+            if (!ready) {
+                deletedWhileLoading.add(taskId);
+            }
+            names.remove(taskId);
+            descriptions.remove(taskId);
+            return;
+        }
+        names.put(taskId, event.getTaskName());
+        descriptions.put(taskId, event.getTaskDescription());
+    }
+
+    /**
+     * Checks whether the initial load has completed.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Rewrites the substring filters of a search into a task ID restriction.
+     * Returns the criteria unchanged when the index cannot serve them; returns criteria
+     * with an empty ID set when nothing can match.
+     */
+    public TaskSearchCriteria rewrite(TaskSearchCriteria criteria) {
+        boolean byName = TrigramIndex.supports(criteria.getName());
+        boolean byDescription = TrigramIndex.supports(criteria.getDescription());
+        if (!ready || (!byName && !byDescription)) {
+            return criteria;
+        }
+
+        Set<Long> ids = byName ? names.search(criteria.getName()) : null;
+        if (byDescription && (ids == null || !ids.isEmpty())) {
+            Set<Long> matches = descriptions.search(criteria.getDescription());
+            ids = ids == null ? matches : intersect(ids, matches);
+        }
+        if (ids.size() > MAX_ID_FILTER) {
+            return criteria;
+        }
+
+        TaskSearchCriteria rewritten = criteria.copy();
+        if (byName) {
+            rewritten.setName(null);
+        }
+        if (byDescription) {
+            rewritten.setDescription(null);
+        }
+        rewritten.setTaskIds(ids);
+        return rewritten;
+    }
+
+    private static Set<Long> intersect(Set<Long> a, Set<Long> b) {
+        Set<Long> smaller = a.size() <= b.size() ? a : b;
+        Set<Long> larger = smaller == a ? b : a;
+        Set<Long> result = new LinkedHashSet<>();
+        for (Long id : smaller) {
+            if (larger.contains(id)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+}
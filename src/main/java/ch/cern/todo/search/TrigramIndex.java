@@ -0,0 +1,186 @@
+package ch.cern.todo.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index answering case-insensitive substring queries.
+ * Every document is split into overlapping three-character grams; a query is answered
+ * by intersecting the posting lists of its own grams, smallest first, and verifying the
+ * few surviving candidates against the stored text.
+ *
+ * Features:
+ * - Thread-safe (many readers, one writer)
+ * - Incremental put and remove
+ * - Exact results, identical to LOWER(text) LIKE '%query%'
+ */
+public class TrigramIndex {
+
+    /**
+     * Length of an index gram. Queries shorter than this cannot be served.
+     */
+    public static final int GRAM_LENGTH = 3;
+
+    /**
+     * Posting lists keyed by packed trigram.
+     */
+    private final Map<Long, PostingList> postings = new HashMap<>();
+
+    /**
+     * Normalized text of every indexed document, used for verification and removal.
+     */
+    private final Map<Long, String> documents = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Indexes a document, replacing any previous text for the same ID.
+     * A null text removes the document.
+     */
+    public void put(long docId, String text) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(docId);
+            if (text == null) {
+                return;
+            }
+            String normalized = normalize(text);
+            documents.put(docId, normalized);
+            for (long gram : grams(normalized)) {
+                postings.computeIfAbsent(gram, g -> new PostingList()).add(docId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes a document only if it is not indexed yet.
+     * Used by bulk loading so it never overwrites a newer incremental update.
+     */
+    public void putIfAbsent(long docId, String text) {
+        lock.writeLock().lock();
+        try {
+            if (!documents.containsKey(docId)) {
+                put(docId, text);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a document from the index.
+     */
+    public void remove(long docId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether a query can be served by the index.
+     */
+    public static boolean supports(String query) {
+        return query != null && query.strip().length() >= GRAM_LENGTH;
+    }
+
+    /**
+     * Finds all documents whose text contains the query, ignoring case.
+     * Returns the matching IDs in ascending order.
+     */
+    public Set<Long> search(String query) {
+        if (!supports(query)) {
+            throw new IllegalArgumentException("Query must have at least " + GRAM_LENGTH + " characters");
+        }
+        String needle = normalize(query);
+
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>();
+            for (long gram : grams(needle)) {
+                PostingList list = postings.get(gram);
+                if (list == null) {
+                    return Set.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+
+            PostingList smallest = lists.get(0);
+            Set<Long> matches = new LinkedHashSet<>();
+            candidates:
+            for (int i = 0; i < smallest.size(); i++) {
+                long docId = smallest.get(i);
+                for (int j = 1; j < lists.size(); j++) {
+                    if (!lists.get(j).contains(docId)) {
+                        continue candidates;
+                    }
+                }
+                if (documents.get(docId).contains(needle)) {
+                    matches.add(docId);
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of indexed documents.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeInternal(long docId) {
+        String previous = documents.remove(docId);
+        if (previous == null) {
+            return;
+        }
+        for (long gram : grams(previous)) {
+            PostingList list = postings.get(gram);
+            if (list != null) {
+                list.remove(docId);
+                if (list.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Normalizes text the same way the database does for LOWER(...) LIKE.
+     */
+    static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits normalized text into its distinct trigrams, each packed into a long.
+     */
+    static Set<Long> grams(String text) {
+        Set<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+}
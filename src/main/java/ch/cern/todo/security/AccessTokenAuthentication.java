@@ -0,0 +1,47 @@
+package ch.cern.todo.security;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Authentication established from a valid access token.
+ * Holds no credentials; the token's claims are kept so the token can be revoked.
+ */
+public class AccessTokenAuthentication extends AbstractAuthenticationToken {
+
+    private final TodoUserDetails principal;
+    private final AccessTokenClaims claims;
+
+    /**
+     * Constructs an authenticated token from verified claims.
+     */
+    public AccessTokenAuthentication(AccessTokenClaims claims) {
+        super(claims.roles().stream().map(SimpleGrantedAuthority::new).toList());
+        this.claims = claims;
+        this.principal = new TodoUserDetails(claims.userId(), claims.username(), null, getAuthorities());
+        setAuthenticated(true);
+    }
+
+    /**
+     * Gets the verified claims of the token.
+     */
+    public AccessTokenClaims getClaims() {
+        return claims;
+    }
+
+    /**
+     * Returns null: a token authentication carries no password.
+     */
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    /**
+     * Gets the user the token was issued to.
+     */
+    @Override
+    public TodoUserDetails getPrincipal() {
+        return principal;
+    }
+}
@@ -0,0 +1,17 @@
+package ch.cern.todo.security;
+
+import java.util.List;
+
+/**
+ * Contents of a signed access token.
+ *
+ * @param id        unique token ID, used for revocation
+ * @param userId    database ID of the user
+ * @param username  username of the user
+ * @param roles     roles of the user at issue time
+ * @param issuedAt  issue time in epoch milliseconds
+ * @param expiresAt expiry time in epoch milliseconds
+ */
+public record AccessTokenClaims(String id, Long userId, String username, List<String> roles,
+                                long issuedAt, long expiresAt) {
+}
@@ -0,0 +1,270 @@
+package ch.cern.todo.security;
+
+import ch.cern.todo.event.UserCredentialsChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Issues and verifies short-lived, HMAC-signed access tokens.
+ * Verifying a token is one HMAC computation and a constant-time comparison: no password
+ * hashing and no database access.
+ *
+ * A token reads {@code <key ID>.<claims>.<signature>}, where the claims are base64url
+ * JSON and the signature is HMAC-SHA256 over the key ID and claims.
+ *
+ * Signing keys are random, generated in memory and rotated after a configurable interval;
+ * a retired key keeps verifying until every token it signed has expired. Keys are not
+ * shared between instances or kept across restarts, so a restart signs everyone out.
+ *
+ * Tokens can be revoked individually until they expire. The revocation list is bounded:
+ * if it overflows, every token issued so far is rejected instead of forgetting a revocation.
+ * A user's password or role change rejects all tokens issued to them before it.
+ *
+ * Features:
+ * - Constant-time signature check
+ * - Key rotation with overlap
+ * - Bounded revocation list
+ */
+@Component
+public class AccessTokenService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int KEY_BYTES = 32;
+    private static final int ID_BYTES = 16;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final Duration ttl;
+    private final Duration rotationInterval;
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Current signing key first, then retired keys still accepted.
+     */
+    private volatile List<SigningKey> keys;
+
+    private final Cache<String, Long> revoked;
+    private final AtomicLong revokedBefore = new AtomicLong();
+    private final Map<String, Long> userRevokedBefore = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the service with the configured lifetimes.
+     */
+    @Autowired
+    public AccessTokenService(ObjectMapper objectMapper,
+                              @Value("${todo.security.token.ttl:PT15M}") Duration ttl,
+                              @Value("${todo.security.token.rotation-interval:PT12H}") Duration rotationInterval,
+                              @Value("${todo.security.token.max-revoked:100000}") long maxRevoked) {
+        this(objectMapper, Clock.systemUTC(), ttl, rotationInterval, maxRevoked);
+    }
+
+    /**
+     * Constructs the service with an explicit clock.
+     */
+    public AccessTokenService(ObjectMapper objectMapper, Clock clock, Duration ttl,
+                              Duration rotationInterval, long maxRevoked) {
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.ttl = ttl;
+        this.rotationInterval = rotationInterval;
+        this.revoked = Caffeine.newBuilder()
+                .maximumSize(maxRevoked)
+                .expireAfterWrite(ttl)
+                .evictionListener((String id, Long expiresAt, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE) {
+                        // A revocation is being forgotten early: reject everything issued so far
+                        revokedBefore.accumulateAndGet(clock.millis(), Math::max);
+                    }
+                })
+                .build();
+        this.keys = List.of(newKey());
+    }
+
+    /**
+     * A signing key.
+     *
+     * @param id        key ID, carried in tokens
+     * @param key       HMAC key
+     * @param createdAt creation time in epoch milliseconds
+     * @param retiredAt time it stopped signing in epoch milliseconds, or 0 while current
+     */
+    private record SigningKey(String id, SecretKeySpec key, long createdAt, long retiredAt) {
+    }
+
+    /**
+     * An issued token with its claims.
+     */
+    public record IssuedToken(String token, AccessTokenClaims claims) {
+    }
+
+    /**
+     * Issues a token for an authenticated user.
+     */
+    public IssuedToken issue(TodoUserDetails user) {
+        long now = clock.millis();
+        List<String> roles = user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+        AccessTokenClaims claims = new AccessTokenClaims(randomId(ID_BYTES), user.getId(), user.getUsername(),
+                roles, now, now + ttl.toMillis());
+        SigningKey key = currentKey(now);
+        String payload;
+        try {
+            payload = ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize token claims", e);
+        }
+        String signed = key.id() + "." + payload;
+        return new IssuedToken(signed + "." + ENCODER.encodeToString(mac(key, signed)), claims);
+    }
+
+    /**
+     * Verifies a token, returning its claims if it is authentic, unexpired and not revoked.
+     */
+    public Optional<AccessTokenClaims> verify(String token) {
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if (firstDot <= 0 || lastDot == firstDot) {
+            return Optional.empty();
+        }
+        SigningKey key = findKey(token.substring(0, firstDot));
+        if (key == null) {
+            return Optional.empty();
+        }
+        AccessTokenClaims claims;
+        try {
+            byte[] signature = DECODER.decode(token.substring(lastDot + 1));
+            if (!MessageDigest.isEqual(mac(key, token.substring(0, lastDot)), signature)) {
+                return Optional.empty();
+            }
+            claims = objectMapper.readValue(DECODER.decode(token.substring(firstDot + 1, lastDot)),
+                    AccessTokenClaims.class);
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();
+        }
+        long now = clock.millis();
+        // Issue times are in milliseconds: a token issued in the same millisecond as a
+        // revocation may predate it, so it is rejected too
+        if (now >= claims.expiresAt()
+                || claims.issuedAt() <= revokedBefore.get()
+                || claims.issuedAt() <= userRevokedBefore.getOrDefault(claims.username(), 0L)
+                || revoked.getIfPresent(claims.id()) != null) {
+            return Optional.empty();
+        }
+        return Optional.of(claims);
+    }
+
+    /**
+     * Revokes a token until it expires.
+     */
+    public void revoke(AccessTokenClaims claims) {
+        revoked.put(claims.id(), claims.expiresAt());
+    }
+
+    /**
+     * Replaces the signing key. Tokens signed with the previous key stay valid until they expire.
+     */
+    public synchronized void rotateKeys() {
+        long now = clock.millis();
+        List<SigningKey> next = new ArrayList<>();
+        next.add(newKey());
+        for (SigningKey key : keys) {
+            SigningKey retired = key.retiredAt() == 0
+                    ? new SigningKey(key.id(), key.key(), key.createdAt(), now)
+                    : key;
+            // Keep retired keys while tokens they signed may still be alive
+            if (retired.retiredAt() + ttl.toMillis() > now) {
+                next.add(retired);
+            }
+        }
+        keys = List.copyOf(next);
+    }
+
+    /**
+     * Rejects the tokens issued to a user up to a committed password or role change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+        long now = clock.millis();
+        // Entries older than the token lifetime no longer reject anything
+        userRevokedBefore.values().removeIf(before -> before + ttl.toMillis() <= now);
+        userRevokedBefore.merge(event.getUsername(), now, Math::max);
+    }
+
+    /**
+     * Gets the token lifetime.
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    private SigningKey currentKey(long now) {
+        SigningKey current = keys.get(0);
+        if (now - current.createdAt() >= rotationInterval.toMillis()) {
+            synchronized (this) {
+                if (keys.get(0) == current) {
+                    rotateKeys();
+                }
+            }
+            current = keys.get(0);
+        }
+        return current;
+    }
+
+    private SigningKey findKey(String id) {
+        for (SigningKey key : keys) {
+            if (key.id().equals(id)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private SigningKey newKey() {
+        byte[] secret = new byte[KEY_BYTES];
+        random.nextBytes(secret);
+        return new SigningKey(randomId(6), new SecretKeySpec(secret, HMAC_ALGORITHM), clock.millis(), 0);
+    }
+
+    private String randomId(int bytes) {
+        byte[] id = new byte[bytes];
+        random.nextBytes(id);
+        return ENCODER.encodeToString(id);
+    }
+
+    private static byte[] mac(SigningKey key, String data) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key.key());
+            return mac.doFinal(data.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC not available", e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package ch.cern.todo.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restricts a method to admins and the owner of the task it acts on.
+ * The task is identified by the parameter annotated with {@link TaskId}.
+ *
+ * Checked by {@link TaskAuthorizer} before the method runs. Annotated methods are
+ * resolved once, when their bean is proxied; a call costs one typed check, with no
+ * expression parsing or evaluation.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AuthorizeTask {
+}
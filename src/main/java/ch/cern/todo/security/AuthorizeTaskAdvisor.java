@@ -0,0 +1,82 @@
+package ch.cern.todo.security;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.StaticMethodMatcherPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Advisor applying {@link AuthorizeTask} to the beans declaring it.
+ *
+ * The pointcut is evaluated when beans are proxied at startup; for every annotated method
+ * it records the position of the {@link TaskId} parameter, and rejects methods without
+ * one. A call then only reads the argument at that position and hands it to the
+ * {@link TaskAuthorizer}.
+ */
+public class AuthorizeTaskAdvisor extends StaticMethodMatcherPointcutAdvisor implements MethodInterceptor {
+
+    /**
+     * Position of the task ID argument of every annotated method seen so far.
+     */
+    private final Map<Method, Integer> taskIdPositions = new ConcurrentHashMap<>();
+
+    private final ObjectProvider<TaskAuthorizer> taskAuthorizer;
+
+    /**
+     * Constructs the advisor. The authorizer is looked up on first use, so that the
+     * advisor can be created before the beans it advises.
+     */
+    public AuthorizeTaskAdvisor(ObjectProvider<TaskAuthorizer> taskAuthorizer) {
+        this.taskAuthorizer = taskAuthorizer;
+        setAdvice(this);
+    }
+
+    /**
+     * Matches methods annotated with {@link AuthorizeTask}, recording their task ID position.
+     */
+    @Override
+    public boolean matches(Method method, Class<?> targetClass) {
+        Method specific = AopUtils.getMostSpecificMethod(method, targetClass);
+        if (!AnnotatedElementUtils.hasAnnotation(specific, AuthorizeTask.class)) {
+            return false;
+        }
+        taskIdPositions.computeIfAbsent(method, m -> taskIdPosition(specific));
+        return true;
+    }
+
+    /**
+     * Authorizes the call, then proceeds with it.
+     */
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        Integer position = taskIdPositions.get(method);
+        if (position == null) {
+            position = taskIdPositions.computeIfAbsent(method, AuthorizeTaskAdvisor::taskIdPosition);
+        }
+        taskAuthorizer.getObject().authorize((Long) invocation.getArguments()[position]);
+        return invocation.proceed();
+    }
+
+    private static int taskIdPosition(Method method) {
+        Annotation[][] annotations = method.getParameterAnnotations();
+        for (int i = 0; i < annotations.length; i++) {
+            for (Annotation annotation : annotations[i]) {
+                if (annotation instanceof TaskId) {
+                    if (method.getParameterTypes()[i] != Long.class) {
+                        throw new IllegalStateException("@TaskId parameter must be a Long: " + method);
+                    }
+                    return i;
+                }
+            }
+        }
+        throw new IllegalStateException("@AuthorizeTask method has no @TaskId parameter: " + method);
+    }
+}
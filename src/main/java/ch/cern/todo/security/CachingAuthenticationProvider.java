@@ -0,0 +1,157 @@
+package ch.cern.todo.security;
+
+import ch.cern.todo.event.UserCredentialsChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Authentication provider remembering successful username/password verifications for a
+ * short time, so that repeated HTTP Basic requests from the same client skip BCrypt and
+ * the user lookup.
+ *
+ * Entries are keyed by an HMAC of the username and password under a random key generated
+ * at startup and never stored, so the cache holds no password or offline-attackable hash.
+ * Only successes are cached: a wrong password misses and goes through the delegate,
+ * paying the full BCrypt cost every time. Password and role changes drop the user's
+ * entries after commit; a per-user generation, read before verifying, keeps a
+ * verification that raced with such a change from being cached.
+ *
+ * Features:
+ * - Bounded size and short time-to-live
+ * - Fresh authentication token per request, authorities as verified
+ * - Hit, miss and eviction metrics under the "authentication" cache name
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    /**
+     * Cache name used for metrics.
+     */
+    public static final String CACHE_NAME = "authentication";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int KEY_BYTES = 32;
+
+    private final AuthenticationProvider delegate;
+    private final Cache<Key, Verified> cache;
+    private final SecretKeySpec hmacKey;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the provider around the one doing the actual verification.
+     */
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, MeterRegistry meterRegistry,
+                                         long maxEntries, Duration ttl) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate cannot be null");
+        }
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        byte[] secret = new byte[KEY_BYTES];
+        new SecureRandom().nextBytes(secret);
+        this.hmacKey = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Cache key: the username in clear, for invalidation, and the keyed hash of the
+     * username and password.
+     */
+    private record Key(String username, String digest) {
+    }
+
+    /**
+     * A successful verification.
+     */
+    private record Verified(Object principal, Collection<? extends GrantedAuthority> authorities) {
+    }
+
+    /**
+     * Authenticates from the cache when the same credentials were verified recently,
+     * else through the delegate, caching the result if it succeeds.
+     */
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String username = authentication.getName();
+        Object credentials = authentication.getCredentials();
+        if (username == null || !(credentials instanceof String password)) {
+            return delegate.authenticate(authentication);
+        }
+        Key key = new Key(username, digest(username, password));
+        Verified verified = cache.getIfPresent(key);
+        if (verified != null) {
+            return authenticated(verified, authentication);
+        }
+        long generation = generation(username);
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated() && generation(username) == generation) {
+            cache.put(key, new Verified(result.getPrincipal(), result.getAuthorities()));
+        }
+        return result;
+    }
+
+    /**
+     * Supports the username/password tokens of HTTP Basic and form login.
+     */
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    /**
+     * Drops the cached verifications of a user whose password or roles changed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+        generations.computeIfAbsent(event.getUsername(), k -> new AtomicLong()).incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.username().equals(event.getUsername()));
+    }
+
+    private long generation(String username) {
+        AtomicLong generation = generations.get(username);
+        return generation != null ? generation.get() : 0L;
+    }
+
+    private static Authentication authenticated(Verified verified, Authentication request) {
+        UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.authenticated(
+                verified.principal(), null, verified.authorities());
+        token.setDetails(request.getDetails());
+        return token;
+    }
+
+    private String digest(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hmacKey);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            // Separator byte that cannot occur in UTF-8, so ("ab", "c") and ("a", "bc") differ
+            mac.update((byte) 0xFF);
+            return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC not available", e);
+        }
+    }
+}
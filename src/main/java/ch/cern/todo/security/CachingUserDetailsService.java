@@ -0,0 +1,107 @@
+package ch.cern.todo.security;
+
+import ch.cern.todo.event.UserCredentialsChangedEvent;
+import ch.cern.todo.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * User details service keeping recently loaded users in memory, so that authentications
+ * which do reach the user store do not query the user and its roles every time.
+ *
+ * Every lookup returns a fresh copy: authentication erases the password of the principal
+ * it was given, which must not reach the cached instance. Unknown usernames are not
+ * cached, so new users can sign in at once. Password and role changes evict the user
+ * after commit; an eviction that overlaps a load in progress waits for it and removes
+ * its result.
+ *
+ * It also stores password hashes re-encoded after a successful sign-in, keeping the
+ * cached entry in step.
+ *
+ * Features:
+ * - Bounded size and time-to-live
+ * - Hit, miss and eviction metrics under the "userDetails" cache name
+ */
+public class CachingUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    /**
+     * Cache name used for metrics.
+     */
+    public static final String CACHE_NAME = "userDetails";
+
+    private final UserRepository userRepository;
+    private final Cache<String, TodoUserDetails> cache;
+
+    /**
+     * Constructs the service over the user repository.
+     */
+    public CachingUserDetailsService(UserRepository userRepository, MeterRegistry meterRegistry,
+                                     long maxEntries, Duration ttl) {
+        if (userRepository == null) {
+            throw new IllegalArgumentException("UserRepository cannot be null");
+        }
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns a copy of the user's details, loading them on a miss.
+     */
+    @Override
+    public TodoUserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        TodoUserDetails cached = cache.get(username, this::load);
+        return new TodoUserDetails(cached.getId(), cached.getUsername(), cached.getPassword(),
+                cached.getAuthorities());
+    }
+
+    /**
+     * Stores a re-encoded hash of the user's current password and returns the updated details.
+     * The password itself is unchanged, so verified-credential caches stay valid.
+     *
+     * The hash is only replaced if it is still the one just verified: a password change
+     * committed since then wins, and the details are returned unchanged.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        String username = userDetails.getUsername();
+        String verifiedHash = userDetails.getPassword();
+        if (userRepository.updatePasswordIfUnchanged(username, verifiedHash, newPassword) == 0) {
+            return userDetails;
+        }
+        cache.asMap().computeIfPresent(username, (name, cached) -> verifiedHash.equals(cached.getPassword())
+                ? new TodoUserDetails(cached.getId(), name, newPassword, cached.getAuthorities())
+                : cached);
+        Long id = userDetails instanceof TodoUserDetails details ? details.getId() : null;
+        return new TodoUserDetails(id, username, newPassword, userDetails.getAuthorities());
+    }
+
+    /**
+     * Evicts a user whose password or roles changed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+        cache.invalidate(event.getUsername());
+    }
+
+    private TodoUserDetails load(String username) {
+        var user = userRepository.findWithRolesByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        return new TodoUserDetails(user.getId(), user.getUsername(), user.getPassword(),
+                user.getRoles().stream().map(SimpleGrantedAuthority::new).toList());
+    }
+}
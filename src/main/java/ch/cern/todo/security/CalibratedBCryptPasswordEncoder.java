@@ -0,0 +1,97 @@
+package ch.cern.todo.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder whose cost factor is chosen at startup to fit a verification-time budget
+ * on the current hardware, instead of a fixed default.
+ *
+ * Hashes of any other cost, lower or higher, report that they need re-encoding, so that
+ * stored hashes follow the calibrated cost as users sign in. The cost is part of every
+ * BCrypt hash, so existing hashes keep verifying whatever the current cost.
+ *
+ * Features:
+ * - Startup calibration within configured bounds
+ * - Upgrade and downgrade of stored hashes
+ */
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(CalibratedBCryptPasswordEncoder.class);
+
+    private static final Pattern COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+
+    /**
+     * Cost factor timed during calibration: cheap enough to run at startup,
+     * expensive enough to measure reliably.
+     */
+    private static final int PROBE_STRENGTH = 8;
+    private static final int PROBE_ROUNDS = 3;
+
+    private final int strength;
+
+    /**
+     * Constructs an encoder with a fixed cost factor.
+     */
+    public CalibratedBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    /**
+     * Creates an encoder using the highest cost factor within the bounds whose estimated
+     * verification time fits the budget, or the lower bound if none does.
+     */
+    public static CalibratedBCryptPasswordEncoder calibrate(Duration budget, int minStrength, int maxStrength) {
+        if (minStrength < 4 || maxStrength > 31 || minStrength > maxStrength) {
+            throw new IllegalArgumentException("Invalid BCrypt strength bounds: " + minStrength + ".." + maxStrength);
+        }
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(PROBE_STRENGTH);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        int strength = strengthFor(budget.toNanos(), best, minStrength, maxStrength);
+        log.info("BCrypt strength {} selected, about {} ms per verification (budget {} ms)", strength,
+                (best << (strength - PROBE_STRENGTH)) / 1_000_000, budget.toMillis());
+        return new CalibratedBCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * Gets the highest strength whose time, doubling per step from the probe time, fits the budget.
+     */
+    static int strengthFor(long budgetNanos, long probeNanos, int minStrength, int maxStrength) {
+        int strength = minStrength;
+        while (strength < maxStrength
+                && probeNanos * Math.pow(2, strength + 1 - PROBE_STRENGTH) <= budgetNanos) {
+            strength++;
+        }
+        return strength;
+    }
+
+    /**
+     * Gets the cost factor used for new hashes.
+     */
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * Requests re-encoding of hashes made with a different cost factor.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        Matcher matcher = COST.matcher(encodedPassword);
+        return !matcher.find() || Integer.parseInt(matcher.group(1)) != strength;
+    }
+}
@@ -0,0 +1,161 @@
+package ch.cern.todo.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AuthenticationFailureBadCredentialsEvent;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Throttles password sign-in attempts per username and per client address, so that
+ * floods of wrong credentials cannot keep the CPU busy with password hashing.
+ *
+ * Each username and each address has a token bucket. Only failed verifications take a
+ * token, so clients with valid credentials are never slowed down; once a bucket is
+ * empty, further attempts for that username or from that address are rejected before
+ * their password is checked, until a token is refilled.
+ *
+ * Buckets live in bounded caches: the least valuable are dropped when full, and idle ones
+ * once they would have refilled completely. Client addresses are taken from the
+ * connection, not from forwarding headers.
+ *
+ * Features:
+ * - Lock-free buckets
+ * - Bounded memory
+ * - Rejection counters per scope and tracked-bucket gauges
+ */
+@Component
+public class LoginThrottle {
+
+    /**
+     * Name of the rejection counter.
+     */
+    public static final String REJECTIONS_METRIC = "login.throttle.rejections";
+
+    private final LongSupplier nanoClock;
+    private final Limit usernameLimit;
+    private final Limit addressLimit;
+    private final Cache<String, TokenBucket> usernameBuckets;
+    private final Cache<String, TokenBucket> addressBuckets;
+    private final Counter usernameRejections;
+    private final Counter addressRejections;
+
+    /**
+     * Burst and refill rate of one kind of bucket.
+     */
+    public record Limit(int burst, int perMinute) {
+
+        long intervalNanos() {
+            return Duration.ofMinutes(1).toNanos() / perMinute;
+        }
+
+        Duration idleTimeout() {
+            return Duration.ofNanos(intervalNanos() * (burst + 1));
+        }
+    }
+
+    /**
+     * Constructs the throttle with the configured limits.
+     */
+    @Autowired
+    public LoginThrottle(MeterRegistry meterRegistry,
+                         @Value("${todo.security.login-throttle.username.burst:5}") int usernameBurst,
+                         @Value("${todo.security.login-throttle.username.per-minute:5}") int usernamePerMinute,
+                         @Value("${todo.security.login-throttle.address.burst:20}") int addressBurst,
+                         @Value("${todo.security.login-throttle.address.per-minute:30}") int addressPerMinute,
+                         @Value("${todo.security.login-throttle.max-tracked:100000}") long maxTracked) {
+        this(meterRegistry, System::nanoTime, new Limit(usernameBurst, usernamePerMinute),
+                new Limit(addressBurst, addressPerMinute), maxTracked);
+    }
+
+    /**
+     * Constructs the throttle with an explicit clock.
+     */
+    public LoginThrottle(MeterRegistry meterRegistry, LongSupplier nanoClock,
+                         Limit usernameLimit, Limit addressLimit, long maxTracked) {
+        this.nanoClock = nanoClock;
+        this.usernameLimit = usernameLimit;
+        this.addressLimit = addressLimit;
+        this.usernameBuckets = buckets(usernameLimit, maxTracked);
+        this.addressBuckets = buckets(addressLimit, maxTracked);
+        this.usernameRejections = rejections(meterRegistry, "username");
+        this.addressRejections = rejections(meterRegistry, "address");
+        Gauge.builder("login.throttle.tracked", usernameBuckets, Cache::estimatedSize)
+                .tag("scope", "username")
+                .description("Usernames with a sign-in throttle bucket")
+                .register(meterRegistry);
+        Gauge.builder("login.throttle.tracked", addressBuckets, Cache::estimatedSize)
+                .tag("scope", "address")
+                .description("Client addresses with a sign-in throttle bucket")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Gets how long a sign-in attempt must wait; 0 if it may proceed now.
+     * Takes no token.
+     */
+    public Duration retryAfter(String username, String address) {
+        long now = nanoClock.getAsLong();
+        long wait = 0;
+        TokenBucket bucket = username != null ? usernameBuckets.getIfPresent(username) : null;
+        if (bucket != null && bucket.nanosUntilAvailable(now) > 0) {
+            usernameRejections.increment();
+            wait = bucket.nanosUntilAvailable(now);
+        }
+        bucket = address != null ? addressBuckets.getIfPresent(address) : null;
+        if (bucket != null && bucket.nanosUntilAvailable(now) > 0) {
+            addressRejections.increment();
+            wait = Math.max(wait, bucket.nanosUntilAvailable(now));
+        }
+        return Duration.ofNanos(wait);
+    }
+
+    /**
+     * Takes a token from the buckets of a failed sign-in attempt.
+     */
+    public void recordFailure(String username, String address) {
+        long now = nanoClock.getAsLong();
+        if (username != null) {
+            usernameBuckets.get(username, k -> new TokenBucket(usernameLimit.burst(), usernameLimit.intervalNanos(), now))
+                    .take(now);
+        }
+        if (address != null) {
+            addressBuckets.get(address, k -> new TokenBucket(addressLimit.burst(), addressLimit.intervalNanos(), now))
+                    .take(now);
+        }
+    }
+
+    /**
+     * Records a failed password verification reported by the authentication manager.
+     */
+    @EventListener
+    public void onBadCredentials(AuthenticationFailureBadCredentialsEvent event) {
+        String address = event.getAuthentication().getDetails() instanceof WebAuthenticationDetails details
+                ? details.getRemoteAddress()
+                : null;
+        recordFailure(event.getAuthentication().getName(), address);
+    }
+
+    private static Cache<String, TokenBucket> buckets(Limit limit, long maxTracked) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxTracked)
+                .expireAfterAccess(limit.idleTimeout())
+                .build();
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String scope) {
+        return Counter.builder(REJECTIONS_METRIC)
+                .tag("scope", scope)
+                .description("Sign-in attempts rejected before password verification")
+                .register(meterRegistry);
+    }
+}
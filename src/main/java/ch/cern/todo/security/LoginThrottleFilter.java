@@ -0,0 +1,73 @@
+package ch.cern.todo.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Rejects HTTP Basic sign-in attempts with 429 and a Retry-After header while the
+ * {@link LoginThrottle} holds back their username or client address, before the
+ * password is verified. Requests without Basic credentials pass through.
+ */
+public class LoginThrottleFilter extends OncePerRequestFilter {
+
+    private static final String BASIC_PREFIX = "Basic ";
+
+    private final LoginThrottle loginThrottle;
+
+    /**
+     * Constructs the filter with the throttle to consult.
+     */
+    public LoginThrottleFilter(LoginThrottle loginThrottle) {
+        if (loginThrottle == null) {
+            throw new IllegalArgumentException("LoginThrottle cannot be null");
+        }
+        this.loginThrottle = loginThrottle;
+    }
+
+    /**
+     * Checks the throttle for requests carrying Basic credentials.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BASIC_PREFIX, 0, BASIC_PREFIX.length())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Duration retryAfter = loginThrottle.retryAfter(username(header), request.getRemoteAddr());
+        if (!retryAfter.isZero()) {
+            // Whole seconds, rounded up, as Retry-After requires
+            long seconds = (retryAfter.toMillis() + 999) / 1000;
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, seconds)));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value());
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Extracts the username from a Basic header, or null if the header is malformed.
+     * Malformed headers are left for the Basic filter to reject.
+     */
+    private static String username(String header) {
+        try {
+            String decoded = new String(Base64.getDecoder().decode(header.substring(BASIC_PREFIX.length()).trim()),
+                    StandardCharsets.UTF_8);
+            int colon = decoded.indexOf(':');
+            return colon >= 0 ? decoded.substring(0, colon) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
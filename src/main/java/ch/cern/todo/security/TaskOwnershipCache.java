@@ -0,0 +1,110 @@
+package ch.cern.todo.security;
+
+import ch.cern.todo.event.TaskChangedEvent;
+import ch.cern.todo.repository.TaskOwnerView;
+import ch.cern.todo.repository.TaskRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Bounded cache of task owners, mapping task IDs to the database ID of the owning user.
+ * Access checks only need the owner, so a miss reads that single column instead of the
+ * task with its user and category.
+ *
+ * Any committed update or deletion of a task evicts it, which covers reassignment to
+ * another user. An eviction that overlaps a load in progress waits for it and removes
+ * its result. Missing tasks are not cached.
+ *
+ * Features:
+ * - Bounded size
+ * - Bulk lookups, loading all misses in chunked IN queries
+ * - Hit, miss and eviction metrics under the "taskOwnership" cache name
+ */
+@Component
+public class TaskOwnershipCache {
+
+    /**
+     * Cache name used for metrics.
+     */
+    public static final String CACHE_NAME = "taskOwnership";
+
+    /**
+     * Largest number of task IDs bound into one owner query.
+     */
+    static final int QUERY_CHUNK_SIZE = 500;
+
+    private final TaskRepository taskRepository;
+    private final Cache<Long, Long> owners;
+
+    /**
+     * Constructs the cache over the task repository and registers its metrics.
+     */
+    public TaskOwnershipCache(TaskRepository taskRepository, MeterRegistry meterRegistry,
+                              @Value("${todo.security.ownership-cache.max-entries:100000}") long maxEntries) {
+        this.taskRepository = taskRepository;
+        this.owners = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, owners, CACHE_NAME);
+    }
+
+    /**
+     * Gets the ID of the user owning a task, or empty if the task does not exist.
+     */
+    public Optional<Long> ownerOf(Long taskId) {
+        return Optional.ofNullable(owners.get(taskId, id -> taskRepository.findOwnerIdById(id).orElse(null)));
+    }
+
+    /**
+     * Gets the owner IDs of several tasks. Tasks that do not exist are absent from the result.
+     * Only the tasks not in the cache are read, in one query per {@value #QUERY_CHUNK_SIZE} IDs.
+     */
+    public Map<Long, Long> ownersOf(Set<Long> taskIds) {
+        return owners.getAll(taskIds, this::load);
+    }
+
+    private Map<Long, Long> load(Set<? extends Long> taskIds) {
+        Map<Long, Long> loaded = new HashMap<>();
+        List<Long> chunk = new ArrayList<>(Math.min(taskIds.size(), QUERY_CHUNK_SIZE));
+        for (Long taskId : taskIds) {
+            chunk.add(taskId);
+            if (chunk.size() == QUERY_CHUNK_SIZE) {
+                loadChunk(chunk, loaded);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            loadChunk(chunk, loaded);
+        }
+        return loaded;
+    }
+
+    private void loadChunk(List<Long> taskIds, Map<Long, Long> loaded) {
+        for (TaskOwnerView owner : taskRepository.findOwnerIdsByIds(taskIds)) {
+            loaded.put(owner.getTaskId(), owner.getOwnerId());
+        }
+    }
+
+    /**
+     * Evicts a task after a committed write that may have changed or removed its owner.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getType() != TaskChangedEvent.Type.CREATED) {
+            owners.invalidate(event.getTaskId());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package ch.cern.todo.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket holding up to {@code burst} tokens, refilled at a steady rate.
+ *
+ * Kept in the "theoretical arrival time" form (GCRA): instead of a token count and a
+ * refill timestamp, one long records when the bucket would be full again, so every
+ * update is a single compare-and-set. Callers check for a token before doing the
+ * expensive work and take it afterwards if the work should count. Times are {@link System#nanoTime()} values.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+
+    /**
+     * Time at which all tokens taken so far will have been refilled.
+     */
+    private final AtomicLong fullAt;
+
+    /**
+     * Constructs a full bucket.
+     *
+     * @param burst         tokens available at once
+     * @param intervalNanos time to refill one token
+     * @param nowNanos      current time
+     */
+    public TokenBucket(int burst, long intervalNanos, long nowNanos) {
+        if (burst < 1 || intervalNanos < 1) {
+            throw new IllegalArgumentException("Burst and interval must be positive");
+        }
+        this.intervalNanos = intervalNanos;
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Gets the time until a token is available without taking it; 0 if one is available now.
+     */
+    public long nanosUntilAvailable(long nowNanos) {
+        return Math.max(0, fullAt.get() - toleranceNanos - nowNanos);
+    }
+
+    /**
+     * Takes a token. Taking from an empty bucket, as concurrent callers that all saw a
+     * token may do, delays the next token by up to one more interval.
+     */
+    public void take(long nowNanos) {
+        fullAt.accumulateAndGet(nowNanos, (current, now) ->
+                Math.min(Math.max(current, now) + intervalNanos, now + toleranceNanos + 2 * intervalNanos));
+    }
+}
@@ -0,0 +1,136 @@
+package ch.cern.todo.service;
+
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader of comma-separated records (RFC 4180), one record at a time.
+ *
+ * Fields may be enclosed in double quotes, in which case they can contain commas, line
+ * breaks and doubled quotes. Records end at LF, CRLF or CR; empty lines are skipped.
+ * Only the record being read is held in memory.
+ *
+ * Features:
+ * - Line number on which each record starts, for error reports
+ * - Leading byte order mark ignored
+ */
+public class CsvRecordReader {
+
+    private static final int BYTE_ORDER_MARK = '\uFEFF';
+
+    private final PushbackReader reader;
+
+    /**
+     * Physical line the reader is on.
+     */
+    private long line = 1;
+
+    /**
+     * Line on which the last returned record starts.
+     */
+    private long recordLine;
+
+    private boolean started;
+
+    /**
+     * Constructs a reader over the given characters.
+     */
+    public CsvRecordReader(Reader reader) {
+        if (reader == null) {
+            throw new IllegalArgumentException("Reader cannot be null");
+        }
+        this.reader = new PushbackReader(reader, 1);
+    }
+
+    /**
+     * Reads the next record, or returns null at the end of the input.
+     * Throws IllegalArgumentException when the input ends inside a quoted field.
+     */
+    public List<String> next() throws IOException {
+        int c = read();
+        if (!started) {
+            started = true;
+            if (c == BYTE_ORDER_MARK) {
+                c = read();
+            }
+        }
+        while (c == '\r' || c == '\n') {
+            endLine(c);
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean quoted = false;
+        while (true) {
+            if (inQuotes) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Unterminated quoted field in record starting on line "
+                            + recordLine);
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                        c = read();
+                    } else {
+                        inQuotes = false;
+                        c = next;
+                    }
+                    continue;
+                }
+                if (c == '\n') {
+                    line++;
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.length() == 0 && !quoted) {
+                inQuotes = true;
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                quoted = false;
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                fields.add(field.toString());
+                if (c != -1) {
+                    endLine(c);
+                }
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Gets the line on which the last returned record starts, 1-based.
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    /**
+     * Consumes a line break starting with the given character, treating CRLF as one.
+     */
+    private void endLine(int c) throws IOException {
+        if (c == '\r') {
+            int next = read();
+            if (next != '\n' && next != -1) {
+                reader.unread(next);
+            }
+        }
+        line++;
+    }
+
+    private int read() throws IOException {
+        return reader.read();
+    }
+}
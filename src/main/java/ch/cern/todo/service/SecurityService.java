@@ -1,20 +1,27 @@
 package ch.cern.todo.service;
 
-import ch.cern.todo.model.Task;
-import ch.cern.todo.repository.TaskRepository;
 import ch.cern.todo.exception.TaskAccessDeniedException;
 import ch.cern.todo.exception.TaskNotFoundException;
+import ch.cern.todo.security.TaskOwnershipCache;
+import ch.cern.todo.security.TodoUserDetails;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Service class responsible for handling security-related operations in the Todo application.
  * Provides methods for authorization checks and access control.
  *
  * Features:
- * - Task ownership verification
+ * - Task ownership verification by user ID, from a cache of task owners
+ * - Bulk access checks for many tasks at once
  * - Admin role verification
  * - Access control checks
  * - Security context integration
@@ -23,19 +30,19 @@ import org.springframework.stereotype.Service;
 public class SecurityService {
 
     /**
-     * Repository for task-related database operations.
+     * Cache of task owners.
      * Used for verifying task ownership and existence.
      */
-    private final TaskRepository taskRepository;
+    private final TaskOwnershipCache taskOwnershipCache;
 
     /**
-     * Constructs a new SecurityService with the required TaskRepository.
+     * Constructs a new SecurityService with the required TaskOwnershipCache.
      */
-    public SecurityService(TaskRepository taskRepository) {
-        if (taskRepository == null) {
-            throw new IllegalArgumentException("TaskRepository cannot be null");
+    public SecurityService(TaskOwnershipCache taskOwnershipCache) {
+        if (taskOwnershipCache == null) {
+            throw new IllegalArgumentException("TaskOwnershipCache cannot be null");
         }
-        this.taskRepository = taskRepository;
+        this.taskOwnershipCache = taskOwnershipCache;
     }
 
     /**
@@ -57,10 +64,7 @@ public class SecurityService {
         }
 
         // If not admin, check if user owns the task
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
-
-        return task.getUser().getUsername().equals(auth.getName());
+        return isOwner(taskId, auth);
     }
 
     /**
@@ -78,10 +82,47 @@ public class SecurityService {
         }
 
         // Regular users can only access their own tasks
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
+        return isOwner(taskId, authentication);
+    }
 
-        return task.getUser().getUsername().equals(authentication.getName());
+    /**
+     * Checks access to many tasks at once, returning a bitmap in which bit {@code i} is set
+     * when the user may access {@code taskIds.get(i)}. Admins may access every task; other
+     * users only their own, and never tasks that do not exist. Owners missing from the
+     * cache are read together, so the cost is a few queries rather than one per task.
+     */
+    public BitSet authorizeTasks(List<Long> taskIds, Authentication authentication) {
+        if (taskIds == null || authentication == null) {
+            throw new IllegalArgumentException("TaskIds and authentication cannot be null");
+        }
+        BitSet allowed = new BitSet(taskIds.size());
+        if (authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"))) {
+            allowed.set(0, taskIds.size());
+            return allowed;
+        }
+        if (!(authentication.getPrincipal() instanceof TodoUserDetails user) || user.getId() == null) {
+            return allowed;
+        }
+        Set<Long> distinct = new HashSet<>(taskIds);
+        distinct.remove(null);
+        Map<Long, Long> owners = taskOwnershipCache.ownersOf(distinct);
+        for (int i = 0; i < taskIds.size(); i++) {
+            if (user.getId().equals(owners.get(taskIds.get(i)))) {
+                allowed.set(i);
+            }
+        }
+        return allowed;
+    }
+
+    /**
+     * Compares the task owner with the user ID carried by the principal.
+     * Principals without a user ID own nothing.
+     */
+    private boolean isOwner(Long taskId, Authentication authentication) {
+        Long ownerId = taskOwnershipCache.ownerOf(taskId)
+                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
+        return authentication.getPrincipal() instanceof TodoUserDetails user
+                && ownerId.equals(user.getId());
     }
 
     /**
@@ -1,9 +1,11 @@
 package ch.cern.todo.service;
 
 import ch.cern.todo.dto.CategoryDTO;
+import ch.cern.todo.event.TaskCategoryChangedEvent;
 import ch.cern.todo.exception.CategoryNotFoundException;
 import ch.cern.todo.model.TaskCategory;
 import ch.cern.todo.repository.TaskCategoryRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,20 +20,26 @@ import java.util.List;
  * - Data transfer object (DTO) handling
  * - Transactional operations
  * - Input validation
+ * - Change events for derived indexes
  */
 @Service
 @Transactional
 public class TaskCategoryService {
     private final TaskCategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Constructs a new TaskCategoryService with the required repository.
+     * Constructs a new TaskCategoryService with the required repository and event publisher.
      */
-    public TaskCategoryService(TaskCategoryRepository categoryRepository) {
+    public TaskCategoryService(TaskCategoryRepository categoryRepository, ApplicationEventPublisher eventPublisher) {
         if (categoryRepository == null) {
             throw new IllegalArgumentException("CategoryRepository cannot be null");
         }
+        if (eventPublisher == null) {
+            throw new IllegalArgumentException("ApplicationEventPublisher cannot be null");
+        }
         this.categoryRepository = categoryRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -79,7 +87,9 @@ public class TaskCategoryService {
         TaskCategory category = getCategory(id);
         category.setCategoryName(dto.getCategoryName());
         category.setCategoryDescription(dto.getCategoryDescription());
-        return categoryRepository.save(category);
+        TaskCategory saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new TaskCategoryChangedEvent(saved.getCategoryId(), saved.getCategoryName()));
+        return saved;
     }
 
     /**
@@ -98,6 +108,7 @@ public class TaskCategoryService {
 
     /**
      * Retrieves all available task categories.
+     * Served from the query cache until a category is created, updated or deleted.
      */
     public List<TaskCategory> getAllCategories() {
         return categoryRepository.findAll();
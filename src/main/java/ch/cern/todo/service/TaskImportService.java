@@ -0,0 +1,405 @@
+package ch.cern.todo.service;
+
+import ch.cern.todo.dto.TaskImportError;
+import ch.cern.todo.dto.TaskImportResult;
+import ch.cern.todo.dto.TaskImportRow;
+import ch.cern.todo.event.TaskChangedEvent;
+import ch.cern.todo.model.Task;
+import ch.cern.todo.model.TaskCategory;
+import ch.cern.todo.model.User;
+import ch.cern.todo.repository.TaskCategoryRepository;
+import ch.cern.todo.repository.TaskRepository;
+import ch.cern.todo.repository.UserRepository;
+import ch.cern.todo.security.TodoUserDetails;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service class importing many tasks for the caller from one uploaded file.
+ *
+ * The upload is parsed one row at a time, never as a whole: NDJSON line by line with
+ * Jackson, CSV record by record. Each row is checked against the rules of
+ * {@link TaskService#createTask(Task)} and the entity constraints, with categories resolved
+ * through a map loaded once per import. Valid rows are inserted in chunks, each chunk in
+ * its own transaction, so an import of any size holds one chunk in memory and inserts
+ * it in JDBC batches. Rejected rows are reported by line and do not stop the import;
+ * when a chunk fails to commit, its rows are retried one by one and only those that
+ * still fail are reported.
+ *
+ * Features:
+ * - NDJSON and CSV (header row naming the fields) input
+ * - Category by ID or by name
+ * - Owner referenced by ID, never loaded
+ * - Change events for the in-memory indexes, published on each chunk's commit
+ */
+@Service
+public class TaskImportService {
+
+    /**
+     * Supported upload formats.
+     */
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    private final TaskRepository taskRepository;
+    private final TaskCategoryRepository taskCategoryRepository;
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    private final int maxLineLength;
+
+    /**
+     * Constructs a new TaskImportService with required dependencies.
+     */
+    public TaskImportService(TaskRepository taskRepository, TaskCategoryRepository taskCategoryRepository,
+                             UserRepository userRepository, UserService userService, ObjectMapper objectMapper,
+                             Validator validator, ApplicationEventPublisher eventPublisher,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${todo.import.chunk-size:500}") int chunkSize,
+                             @Value("${todo.import.max-reported-errors:1000}") int maxReportedErrors,
+                             @Value("${todo.import.max-line-length:65536}") int maxLineLength) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        if (maxLineLength < 1) {
+            throw new IllegalArgumentException("Maximum line length must be positive");
+        }
+        this.taskRepository = taskRepository;
+        this.taskCategoryRepository = taskCategoryRepository;
+        this.userRepository = userRepository;
+        this.userService = userService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * One parsed row, or the reason it could not be parsed.
+     */
+    private record Row(long line, TaskImportRow values, String error) {
+    }
+
+    /**
+     * Source of parsed rows; null at the end of the upload.
+     */
+    private interface RowReader {
+        Row next() throws IOException;
+    }
+
+    /**
+     * A validated task waiting for its chunk to be saved.
+     */
+    private record Pending(long line, Task task, TaskCategory category) {
+    }
+
+    /**
+     * Owner of the imported tasks.
+     */
+    private record Owner(Long id, String username) {
+    }
+
+    /**
+     * Imports the tasks of an upload for the authenticated user.
+     */
+    public TaskImportResult importTasks(InputStream body, Format format, Authentication authentication)
+            throws IOException {
+        if (body == null || format == null) {
+            throw new IllegalArgumentException("Upload and format are required");
+        }
+        Owner owner = owner(authentication);
+        User ownerPlaceholder = new User();
+        ownerPlaceholder.setId(owner.id());
+        ownerPlaceholder.setUsername(owner.username());
+
+        Map<Long, TaskCategory> categoriesById = new HashMap<>();
+        Map<String, TaskCategory> categoriesByName = new HashMap<>();
+        for (TaskCategory category : taskCategoryRepository.findAll()) {
+            categoriesById.put(category.getCategoryId(), category);
+            categoriesByName.put(category.getCategoryName(), category);
+        }
+
+        TaskImportResult result = new TaskImportResult();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        RowReader rows = format == Format.NDJSON ? ndjsonRows(reader) : csvRows(reader);
+        List<Pending> chunk = new ArrayList<>(chunkSize);
+        Row row;
+        while ((row = rows.next()) != null) {
+            if (row.error() != null) {
+                reject(result, row.line(), row.error());
+                continue;
+            }
+            try {
+                Task task = toTask(row.values(), categoriesById, categoriesByName, ownerPlaceholder);
+                chunk.add(new Pending(row.line(), task, task.getCategory()));
+            } catch (IllegalArgumentException e) {
+                reject(result, row.line(), e.getMessage());
+                continue;
+            }
+            if (chunk.size() == chunkSize) {
+                saveChunk(chunk, owner, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            saveChunk(chunk, owner, result);
+        }
+        return result;
+    }
+
+    /**
+     * Builds and validates the task of a row, throwing IllegalArgumentException naming
+     * the problem. The task refers to the loaded category and a placeholder owner until saved.
+     */
+    private Task toTask(TaskImportRow values, Map<Long, TaskCategory> categoriesById,
+                        Map<String, TaskCategory> categoriesByName, User owner) {
+        TaskCategory category = null;
+        if (values.getCategoryId() != null) {
+            category = categoriesById.get(values.getCategoryId());
+            if (category == null) {
+                throw new IllegalArgumentException("Unknown category ID: " + values.getCategoryId());
+            }
+        } else if (values.getCategoryName() != null) {
+            category = categoriesByName.get(values.getCategoryName());
+            if (category == null) {
+                throw new IllegalArgumentException("Unknown category: " + values.getCategoryName());
+            }
+        }
+        Task task = new Task();
+        task.setTaskName(values.getTaskName());
+        task.setTaskDescription(values.getTaskDescription());
+        task.setDeadline(values.getDeadline());
+        task.setCategory(category);
+        task.setUser(owner);
+        TaskService.validateNewTask(task);
+        Set<ConstraintViolation<Task>> violations = validator.validate(task);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return task;
+    }
+
+    /**
+     * Inserts a chunk of validated tasks in one transaction. If the transaction fails, the
+     * rows are inserted again one per transaction, so only the rows that fail on their own
+     * are reported.
+     */
+    private void saveChunk(List<Pending> chunk, Owner owner, TaskImportResult result) {
+        try {
+            insert(chunk, owner);
+            result.setImported(result.getImported() + chunk.size());
+            return;
+        } catch (RuntimeException e) {
+            if (chunk.size() == 1) {
+                reject(result, chunk.get(0).line(), "Not saved: " + rootMessage(e));
+                return;
+            }
+        }
+        for (Pending pending : chunk) {
+            // The rolled back insert may have assigned an ID
+            pending.task().setTaskId(null);
+            try {
+                insert(List.of(pending), owner);
+                result.setImported(result.getImported() + 1);
+            } catch (RuntimeException e) {
+                reject(result, pending.line(), "Not saved: " + rootMessage(e));
+            }
+        }
+    }
+
+    /**
+     * Inserts tasks in one transaction, referring to the owner and categories by ID.
+     */
+    private void insert(List<Pending> pendings, Owner owner) {
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = userRepository.getReferenceById(owner.id());
+            List<Task> tasks = new ArrayList<>(pendings.size());
+            for (Pending pending : pendings) {
+                Task task = pending.task();
+                task.setUser(user);
+                task.setCategory(taskCategoryRepository.getReferenceById(pending.category().getCategoryId()));
+                tasks.add(task);
+            }
+            taskRepository.saveAll(tasks);
+            for (Pending pending : pendings) {
+                Task task = pending.task();
+                eventPublisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.CREATED,
+                        task.getTaskId(), task.getTaskName(), task.getTaskDescription(), task.getDeadline(),
+                        pending.category().getCategoryId(), pending.category().getCategoryName(),
+                        owner.username()));
+            }
+        });
+    }
+
+    private void reject(TaskImportResult result, long line, String message) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new TaskImportError(line, message));
+        }
+    }
+
+    /**
+     * Gets the ID and username of the caller, from the principal when it carries the ID.
+     */
+    private Owner owner(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof TodoUserDetails principal
+                && principal.getId() != null) {
+            return new Owner(principal.getId(), principal.getUsername());
+        }
+        User user = userService.getCurrentUser(authentication);
+        return new Owner(user.getId(), user.getUsername());
+    }
+
+    /**
+     * Reads one JSON object per non-blank line. A line longer than the maximum length is
+     * skipped up to its end and reported, so no line is held in memory beyond that length.
+     */
+    private RowReader ndjsonRows(BufferedReader reader) {
+        ObjectReader rowReader = objectMapper.readerFor(TaskImportRow.class);
+        return new RowReader() {
+            private final StringBuilder text = new StringBuilder();
+            private long line;
+            private boolean done;
+
+            @Override
+            public Row next() throws IOException {
+                while (!done) {
+                    text.setLength(0);
+                    boolean tooLong = false;
+                    int c;
+                    while ((c = reader.read()) != -1 && c != '\n') {
+                        if (text.length() < maxLineLength + 1) {
+                            text.append((char) c);
+                        } else {
+                            tooLong = true;
+                        }
+                    }
+                    if (c == -1) {
+                        done = true;
+                        if (text.isEmpty()) {
+                            return null;
+                        }
+                    }
+                    line++;
+                    // One character of slack for the carriage return of a CRLF line end
+                    if (!text.isEmpty() && text.charAt(text.length() - 1) == '\r') {
+                        text.setLength(text.length() - 1);
+                    }
+                    if (tooLong || text.length() > maxLineLength) {
+                        return new Row(line, null, "Line longer than " + maxLineLength + " characters");
+                    }
+                    if (line == 1 && !text.isEmpty() && text.charAt(0) == '\uFEFF') {
+                        text.deleteCharAt(0);
+                    }
+                    if (text.toString().isBlank()) {
+                        continue;
+                    }
+                    try {
+                        return new Row(line, rowReader.readValue(text.toString()), null);
+                    } catch (JsonProcessingException e) {
+                        return new Row(line, null, "Invalid JSON: " + e.getOriginalMessage());
+                    }
+                }
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Reads CSV records, mapping each field to the row property named by the header.
+     * Ends the upload early, with an error, when a quoted field is never closed.
+     */
+    private RowReader csvRows(BufferedReader reader) {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        return new RowReader() {
+            private List<String> header;
+            private boolean done;
+
+            @Override
+            public Row next() throws IOException {
+                if (done) {
+                    return null;
+                }
+                List<String> fields;
+                try {
+                    if (header == null) {
+                        header = csv.next();
+                        if (header == null) {
+                            done = true;
+                            return null;
+                        }
+                        header = header.stream().map(String::trim).toList();
+                    }
+                    fields = csv.next();
+                } catch (IllegalArgumentException e) {
+                    done = true;
+                    return new Row(csv.getRecordLine(), null, e.getMessage());
+                }
+                if (fields == null) {
+                    done = true;
+                    return null;
+                }
+                long line = csv.getRecordLine();
+                if (fields.size() != header.size()) {
+                    return new Row(line, null, "Expected " + header.size() + " fields but found " + fields.size());
+                }
+                Map<String, String> values = new HashMap<>();
+                for (int i = 0; i < fields.size(); i++) {
+                    if (!fields.get(i).isBlank()) {
+                        values.put(header.get(i), fields.get(i));
+                    }
+                }
+                try {
+                    return new Row(line, objectMapper.convertValue(values, TaskImportRow.class), null);
+                } catch (IllegalArgumentException e) {
+                    return new Row(line, null, "Invalid value: " + rootMessage(e));
+                }
+            }
+        };
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof JsonProcessingException jsonException) {
+            return jsonException.getOriginalMessage();
+        }
+        return cause.getMessage();
+    }
+}
@@ -1,13 +1,50 @@
 package ch.cern.todo.service;
 
+import ch.cern.todo.dto.TaskBulkRequest;
+import ch.cern.todo.dto.TaskBulkResult;
+import ch.cern.todo.dto.TaskFullTextHit;
+import ch.cern.todo.dto.TaskFuzzyHit;
+import ch.cern.todo.dto.TaskResponseDTO;
+import ch.cern.todo.dto.TaskSearchCriteria;
+import ch.cern.todo.dto.TaskSearchCursor;
+import ch.cern.todo.dto.TaskSearchFacets;
+import ch.cern.todo.dto.TaskSearchPage;
+import ch.cern.todo.event.TaskChangedEvent;
+import ch.cern.todo.exception.CategoryNotFoundException;
+import ch.cern.todo.exception.InvalidSearchCriteriaException;
+import ch.cern.todo.exception.TaskNotFoundException;
 import ch.cern.todo.model.Task;
+import ch.cern.todo.model.TaskCategory;
+import ch.cern.todo.repository.TaskCategoryRepository;
+import ch.cern.todo.repository.TaskDocumentView;
 import ch.cern.todo.repository.TaskRepository;
-import org.springframework.security.access.prepost.PreAuthorize;
+import ch.cern.todo.repository.TaskSearchPlan;
+import ch.cern.todo.search.TaskFullTextIndex;
+import ch.cern.todo.search.TaskNameSuggester;
+import ch.cern.todo.search.TaskNameTrie;
+import ch.cern.todo.search.TaskSearchCache;
+import ch.cern.todo.search.TaskTermDictionary;
+import ch.cern.todo.search.TaskTextIndex;
+import ch.cern.todo.security.AuthorizeTask;
+import ch.cern.todo.security.TaskId;
+import ch.cern.todo.security.TodoUserDetails;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service class responsible for managing task-related operations in the Todo application.
@@ -15,7 +52,15 @@ import java.util.List;
  *
  * Features:
  * - Task creation, retrieval, update, and deletion
+ * - Set-based bulk update and deletion by ID list or search filter
  * - Advanced search capabilities
+ * - Facet counts for search results
+ * - Cached search pages with write-generation invalidation
+ * - Streaming export of search results
+ * - Ranked full-text search
+ * - Task name autocomplete
+ * - Typo-tolerant task name search
+ * - Change events for in-memory indexes
  * - Security validation
  * - Input validation
  * - Transactional operations
@@ -24,25 +69,224 @@ import java.util.List;
 @Transactional
 public class TaskService {
 
+    /**
+     * Rows fetched per round trip when streaming.
+     */
+    static final int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * Largest number of task IDs bound to one bulk statement.
+     */
+    static final int BULK_CHUNK_SIZE = 500;
+
     private final TaskRepository taskRepository;
+    private final TaskCategoryRepository taskCategoryRepository;
     private final SecurityService securityService;
+    private final TaskTextIndex taskTextIndex;
+    private final TaskFullTextIndex taskFullTextIndex;
+    private final TaskSearchCache taskSearchCache;
+    private final TaskNameSuggester taskNameSuggester;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructs a new TaskService with required dependencies.
      */
-    public TaskService(TaskRepository taskRepository, SecurityService securityService) {
+    public TaskService(TaskRepository taskRepository, TaskCategoryRepository taskCategoryRepository,
+                       SecurityService securityService,
+                       TaskTextIndex taskTextIndex, TaskFullTextIndex taskFullTextIndex,
+                       TaskSearchCache taskSearchCache, TaskNameSuggester taskNameSuggester,
+                       ApplicationEventPublisher eventPublisher) {
         this.taskRepository = taskRepository;
+        this.taskCategoryRepository = taskCategoryRepository;
         this.securityService = securityService;
+        this.taskTextIndex = taskTextIndex;
+        this.taskFullTextIndex = taskFullTextIndex;
+        this.taskSearchCache = taskSearchCache;
+        this.taskNameSuggester = taskNameSuggester;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Searches for tasks based on multiple criteria.
-     * All parameters are optional and can be combined for advanced filtering.
+     * All criteria are optional and can be combined for advanced filtering.
+     *
+     * Results are returned one bounded page at a time. The page after a given one is
+     * addressed by the continuation token of its predecessor; one extra row is read
+     * to find out whether another page exists.
+     */
+    @Transactional(readOnly = true)
+    public TaskSearchPage searchTasks(TaskSearchCriteria criteria, String cursor, Integer size) {
+        return searchTasks(criteria, cursor, size, false, false);
+    }
+
+    /**
+     * Searches for tasks and optionally counts all matches per category, per deadline
+     * bucket and, if byOwner is set, per owner. Facet counts ignore the cursor, so every
+     * page of a search reports the same counts; they take one grouped statement.
+     */
+    @Transactional(readOnly = true)
+    public TaskSearchPage searchTasks(TaskSearchCriteria criteria, String cursor, Integer size,
+                                      boolean facets, boolean byOwner) {
+        if (criteria == null) {
+            throw new IllegalArgumentException("Search criteria cannot be null");
+        }
+        criteria.validate();
+        int pageSize = TaskSearchPage.normalizeSize(size);
+        TaskSearchCursor after = TaskSearchCursor.decode(cursor);
+
+        // Repeated searches are served from the cache while no relevant write has committed
+        TaskSearchCache.Key key = new TaskSearchCache.Key(criteria, cursor, pageSize, facets, byOwner, currentCaller());
+        TaskSearchCache.Stamp stamp = taskSearchCache.stamp(criteria);
+        TaskSearchPage cached = taskSearchCache.get(key, stamp);
+        if (cached != null) {
+            return cached;
+        }
+        TaskSearchPage page = executeSearch(criteria, after, pageSize, facets, byOwner);
+        taskSearchCache.put(key, stamp, page);
+        return page;
+    }
+
+    private TaskSearchPage executeSearch(TaskSearchCriteria criteria, TaskSearchCursor after, int pageSize,
+                                         boolean facets, boolean byOwner) {
+        // Substring filters are answered by the trigram index when possible
+        criteria = taskTextIndex.rewrite(criteria);
+        if (criteria.isUnsatisfiable()) {
+            TaskSearchPage empty = new TaskSearchPage(new ArrayList<>(), null);
+            if (facets) {
+                empty.setFacets(TaskSearchFacets.empty(byOwner));
+            }
+            return empty;
+        }
+
+        TaskSearchPlan plan = taskRepository.planSearch(criteria, after);
+        List<TaskResponseDTO> rows = taskRepository.search(plan, criteria, after, pageSize + 1);
+
+        TaskSearchPage page;
+        if (rows.size() <= pageSize) {
+            page = new TaskSearchPage(rows, null);
+        } else {
+            List<TaskResponseDTO> items = new ArrayList<>(rows.subList(0, pageSize));
+            TaskResponseDTO last = items.get(items.size() - 1);
+            page = new TaskSearchPage(items, new TaskSearchCursor(last.getDeadline(), last.getTaskId()).encode());
+        }
+        page.setPlan(plan);
+
+        if (facets) {
+            TaskSearchPlan facetPlan = after == null ? plan : taskRepository.planSearch(criteria, null);
+            page.setFacets(taskRepository.facets(facetPlan, criteria, byOwner, LocalDateTime.now()));
+        }
+        return page;
+    }
+
+    /**
+     * Gets the name of the authenticated caller, part of the search cache key.
+     */
+    private static String currentCaller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "";
+    }
+
+    /**
+     * Streams every task matching the criteria, ordered by deadline and task ID, to the
+     * given sink. Rows are read from a forward-only cursor as DTOs and not retained,
+     * so memory use is independent of the number of matches.
+     * Returns the number of tasks streamed.
+     */
+    @Transactional(readOnly = true)
+    public long streamTasks(TaskSearchCriteria criteria, Consumer<TaskResponseDTO> sink) {
+        if (criteria == null) {
+            throw new IllegalArgumentException("Search criteria cannot be null");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Sink cannot be null");
+        }
+        criteria.validate();
+
+        criteria = taskTextIndex.rewrite(criteria);
+        if (criteria.isUnsatisfiable()) {
+            return 0;
+        }
+        TaskSearchPlan plan = taskRepository.planSearch(criteria, null);
+        return taskRepository.streamSearch(plan, criteria, STREAM_FETCH_SIZE, sink);
+    }
+
+    /**
+     * Searches task names, descriptions and category names for the given text.
+     * Results are ranked by relevance and served from the full-text index alone,
+     * so no database transaction is opened. When ownerUsername is set, only that
+     * user's tasks are returned.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<TaskFullTextHit> fullTextSearch(String text, String ownerUsername, Integer size) {
+        if (text == null || text.isBlank()) {
+            throw new InvalidSearchCriteriaException("Search text is required");
+        }
+        return taskFullTextIndex.search(text, ownerUsername, TaskSearchPage.normalizeSize(size));
+    }
+
+    /**
+     * Suggests names of the given user's tasks starting with the prefix, ignoring case.
+     * Served from the user's in-memory name trie; only the first lookup of a user reads
+     * the database.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<String> suggestTaskNames(String username, String prefix, Integer size) {
+        if (username == null) {
+            throw new IllegalArgumentException("Username cannot be null");
+        }
+        if (prefix == null || prefix.isEmpty()) {
+            throw new InvalidSearchCriteriaException("Prefix is required");
+        }
+        int limit = size == null ? TaskNameTrie.MAX_SUGGESTIONS
+                : Math.max(1, Math.min(size, TaskNameTrie.MAX_SUGGESTIONS));
+        return taskNameSuggester.suggest(username, prefix, limit);
+    }
+
+    /**
+     * Finds the given user's tasks whose names match every word of the query with at most
+     * {@code maxDistance} typos per word (default and maximum 2, fewer for short words),
+     * closest first. Matching runs on the user's in-memory word dictionary; only the
+     * matched tasks are read from the database.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskFuzzyHit> fuzzySearch(String username, String query, Integer maxDistance, Integer size) {
+        if (username == null) {
+            throw new IllegalArgumentException("Username cannot be null");
+        }
+        if (query == null || query.isBlank()) {
+            throw new InvalidSearchCriteriaException("Search text is required");
+        }
+        int distance = maxDistance == null ? TaskTermDictionary.MAX_DISTANCE : maxDistance;
+        if (distance < 0 || distance > TaskTermDictionary.MAX_DISTANCE) {
+            throw new InvalidSearchCriteriaException("Distance must be between 0 and " + TaskTermDictionary.MAX_DISTANCE);
+        }
+        List<TaskTermDictionary.Match> matches = taskNameSuggester.fuzzyMatch(
+                username, query, distance, TaskSearchPage.normalizeSize(size));
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, TaskResponseDTO> tasks = taskRepository.findResponsesByIds(
+                        matches.stream().map(TaskTermDictionary.Match::taskId).toList())
+                .stream()
+                .collect(Collectors.toMap(TaskResponseDTO::getTaskId, Function.identity()));
+        List<TaskFuzzyHit> hits = new ArrayList<>(matches.size());
+        for (TaskTermDictionary.Match match : matches) {
+            TaskResponseDTO task = tasks.get(match.taskId());
+            // Skip tasks deleted since the dictionary was read
+            if (task != null) {
+                hits.add(new TaskFuzzyHit(task, match.distance()));
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Starts rebuilding the full-text index from the database in the background.
+     * Returns false when a rebuild is already running.
      */
-    public List<Task> searchTasks(String username, String name,
-                                  String description, LocalDateTime deadline,
-                                  Long categoryId) {
-        return taskRepository.search(username, name, description, deadline, categoryId);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean reindexFullText() {
+        return taskFullTextIndex.rebuildAsync();
     }
 
     /**
@@ -66,30 +310,197 @@ public class TaskService {
     /**
      * Retrieves a task by its ID with security checks.
      * Only admins or task owners can access the task.
+     * The category, owner and owner's roles are fetched with the task, as the entity is
+     * rendered as JSON after the transaction has ended.
      */
-    @PreAuthorize("hasRole('ADMIN') or @securityService.isOwner(#id)")
-    public Task getTask(Long id) {
-        return taskRepository.findById(id)
+    @AuthorizeTask
+    public Task getTask(@TaskId Long id) {
+        return taskRepository.findDetailByTaskId(id)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
     }
 
+    /**
+     * Retrieves a task by its ID as a response DTO.
+     * Reads only the returned columns; no entity or association is loaded.
+     */
+    @Transactional(readOnly = true)
+    public TaskResponseDTO getTaskResponse(Long id) {
+        return taskRepository.findResponseById(id)
+                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + id));
+    }
+
     /**
      * Updates an existing task with security checks.
      * Only admins or task owners can update the task.
      */
-    @PreAuthorize("hasRole('ADMIN') or @securityService.isOwner(#id)")
-    public Task updateTask(Long id, Task task) {
+    @AuthorizeTask
+    public Task updateTask(@TaskId Long id, Task task) {
         Task existingTask = getTask(id);
-        return taskRepository.save(existingTask);
+        Task saved = taskRepository.save(existingTask);
+        eventPublisher.publishEvent(TaskChangedEvent.saved(TaskChangedEvent.Type.UPDATED, saved));
+        return saved;
     }
 
     /**
      * Deletes a task by its ID with security checks.
      * Only admins or task owners can delete the task.
      */
-    @PreAuthorize("hasRole('ADMIN') or @securityService.isOwner(#id)")
-    public void deleteTask(Long id) {
-        taskRepository.deleteById(id);
+    @AuthorizeTask
+    public void deleteTask(@TaskId Long id) {
+        // Loaded first so the change event can name the owner and category
+        taskRepository.findWithCategoryAndOwnerByTaskId(id).ifPresent(task -> {
+            taskRepository.delete(task);
+            eventPublisher.publishEvent(TaskChangedEvent.deleted(task));
+        });
+    }
+
+    /**
+     * Tasks selected by a bulk request, and the owner its statements are restricted to
+     * (null for admins).
+     */
+    private record BulkSelection(List<Long> taskIds, Long ownerId, long skipped) {
+    }
+
+    /**
+     * Deletes the tasks selected by ID or by search filter.
+     * The tasks are deleted with one statement per chunk of IDs, restricted to the
+     * caller's own tasks unless the caller is an admin; no entity is loaded. Change
+     * events keep the indexes and caches in step once the transaction commits.
+     */
+    public TaskBulkResult bulkDelete(TaskBulkRequest request, Authentication authentication) {
+        BulkSelection selection = selectForBulk(request, authentication);
+        long affected = 0;
+        for (List<Long> chunk : chunks(selection.taskIds())) {
+            // Read first so the change events can name the owner and category
+            List<TaskDocumentView> deleted = taskRepository.findDocumentsByIds(chunk);
+            affected += taskRepository.deleteByIdsAndOwner(chunk, selection.ownerId());
+            for (TaskDocumentView task : deleted) {
+                eventPublisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.DELETED, task.getTaskId(),
+                        null, null, null, task.getCategoryId(), task.getCategoryName(), task.getOwnerUsername()));
+            }
+        }
+        return new TaskBulkResult(selection.taskIds().size(), affected, selection.skipped());
+    }
+
+    /**
+     * Moves the tasks selected by ID or by search filter to another category and/or sets
+     * their deadline, with one statement per changed field and chunk of IDs, restricted
+     * to the caller's own tasks unless the caller is an admin.
+     */
+    public TaskBulkResult bulkUpdate(TaskBulkRequest request, Authentication authentication) {
+        if (request == null) {
+            throw new IllegalArgumentException("Bulk request cannot be null");
+        }
+        if (request.getCategoryId() == null && request.getDeadline() == null) {
+            throw new IllegalArgumentException("Category or deadline to set is required");
+        }
+        if (request.getDeadline() != null && request.getDeadline().isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Deadline must be in the future");
+        }
+        TaskCategory category = null;
+        if (request.getCategoryId() != null) {
+            category = taskCategoryRepository.findById(request.getCategoryId())
+                    .orElseThrow(() -> new CategoryNotFoundException(request.getCategoryId()));
+        }
+
+        BulkSelection selection = selectForBulk(request, authentication);
+        long affected = 0;
+        for (List<Long> chunk : chunks(selection.taskIds())) {
+            List<TaskDocumentView> before = taskRepository.findDocumentsByIds(chunk);
+            int updated = 0;
+            if (category != null) {
+                updated = taskRepository.updateCategoryByIdsAndOwner(chunk, selection.ownerId(), category);
+            }
+            if (request.getDeadline() != null) {
+                updated = Math.max(updated,
+                        taskRepository.updateDeadlineByIdsAndOwner(chunk, selection.ownerId(), request.getDeadline()));
+            }
+            affected += updated;
+            for (TaskDocumentView task : before) {
+                eventPublisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, task.getTaskId(),
+                        task.getTaskName(), task.getTaskDescription(),
+                        request.getDeadline() != null ? request.getDeadline() : task.getDeadline(),
+                        category != null ? category.getCategoryId() : task.getCategoryId(),
+                        category != null ? category.getCategoryName() : task.getCategoryName(),
+                        task.getOwnerUsername(), task.getCategoryId()));
+            }
+        }
+        return new TaskBulkResult(selection.taskIds().size(), affected, selection.skipped());
+    }
+
+    /**
+     * Resolves the tasks a bulk request applies to. Requested IDs the caller may not
+     * change are skipped; a filter is narrowed to the caller's own tasks unless the
+     * caller is an admin, and must contain at least one criterion.
+     */
+    private BulkSelection selectForBulk(TaskBulkRequest request, Authentication authentication) {
+        if (request == null) {
+            throw new IllegalArgumentException("Bulk request cannot be null");
+        }
+        if (authentication == null) {
+            throw new AccessDeniedException("Access denied");
+        }
+        if ((request.getTaskIds() == null) == (request.getFilter() == null)) {
+            throw new IllegalArgumentException("Either taskIds or filter is required, not both");
+        }
+        boolean admin = isAdmin(authentication);
+        Long ownerId = null;
+        if (!admin) {
+            if (!(authentication.getPrincipal() instanceof TodoUserDetails principal) || principal.getId() == null) {
+                throw new AccessDeniedException("Access denied");
+            }
+            ownerId = principal.getId();
+        }
+
+        if (request.getTaskIds() != null) {
+            List<Long> requested = request.getTaskIds().stream()
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .toList();
+            BitSet allowed = securityService.authorizeTasks(requested, authentication);
+            List<Long> taskIds = new ArrayList<>(allowed.cardinality());
+            for (int i = allowed.nextSetBit(0); i >= 0; i = allowed.nextSetBit(i + 1)) {
+                taskIds.add(requested.get(i));
+            }
+            return new BulkSelection(taskIds, ownerId, requested.size() - taskIds.size());
+        }
+
+        TaskSearchCriteria criteria = request.getFilter().copy();
+        criteria.setTaskIds(null);
+        if (!criteria.hasFilters()) {
+            throw new InvalidSearchCriteriaException("Filter must contain at least one criterion");
+        }
+        if (!admin) {
+            if (criteria.getUsername() != null && !criteria.getUsername().isBlank()
+                    && !criteria.getUsername().equals(authentication.getName())) {
+                throw new AccessDeniedException("Access denied");
+            }
+            criteria.setUsername(authentication.getName());
+        }
+        criteria.validate();
+        criteria = taskTextIndex.rewrite(criteria);
+        List<Long> taskIds = new ArrayList<>();
+        if (!criteria.isUnsatisfiable()) {
+            TaskSearchPlan plan = taskRepository.planSearch(criteria, null);
+            taskRepository.streamSearch(plan, criteria, STREAM_FETCH_SIZE, task -> taskIds.add(task.getTaskId()));
+        }
+        return new BulkSelection(taskIds, ownerId, 0);
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof TodoUserDetails principal) {
+            return principal.hasAuthority("ROLE_ADMIN");
+        }
+        return authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+
+    private static List<List<Long>> chunks(List<Long> taskIds) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < taskIds.size(); from += BULK_CHUNK_SIZE) {
+            chunks.add(taskIds.subList(from, Math.min(from + BULK_CHUNK_SIZE, taskIds.size())));
+        }
+        return chunks;
     }
 
     /**
@@ -98,6 +509,33 @@ public class TaskService {
      */
     @Transactional
     public Task createTask(Task task) {
+        return createTask(task, task != null && task.getUser() != null ? task.getUser().getUsername() : null);
+    }
+
+    /**
+     * Creates a new task owned by the given user, naming the owner in the change event.
+     * The task's user may be an unloaded reference: the owner's username is taken from
+     * the argument instead, so creating a task never loads the owning user. The category
+     * is replaced by the stored one (a second-level cache hit), since the one given may
+     * carry any name.
+     */
+    @Transactional
+    public Task createTask(Task task, String ownerUsername) {
+        validateNewTask(task);
+        Long categoryId = task.getCategory().getCategoryId();
+        task.setCategory(taskCategoryRepository.findById(categoryId)
+                .orElseThrow(() -> new CategoryNotFoundException(categoryId)));
+
+        Task saved = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.saved(TaskChangedEvent.Type.CREATED, saved, ownerUsername));
+        return saved;
+    }
+
+    /**
+     * Checks the fields required of a new task, throwing IllegalArgumentException
+     * naming the first one missing or invalid.
+     */
+    static void validateNewTask(Task task) {
         if (task == null) {
             throw new IllegalArgumentException("Task cannot be null");
         }
@@ -114,14 +552,12 @@ public class TaskService {
             throw new IllegalArgumentException("Deadline must be in the future");
         }
 
-        if (task.getCategory() == null) {
+        if (task.getCategory() == null || task.getCategory().getCategoryId() == null) {
             throw new IllegalArgumentException("Category is required");
         }
 
         if (task.getUser() == null) {
             throw new IllegalArgumentException("User is required");
         }
-
-        return taskRepository.save(task);
     }
 }
@@ -1,11 +1,18 @@
 package ch.cern.todo.service;
 
+import ch.cern.todo.event.UserCredentialsChangedEvent;
 import ch.cern.todo.model.User;
 import ch.cern.todo.repository.UserRepository;
+import ch.cern.todo.security.TodoUserDetails;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * Service class responsible for user-related operations in the Todo application.
  * Provides functionality for user management and authentication-related operations.
@@ -15,6 +22,7 @@ import org.springframework.transaction.annotation.Transactional;
  *
  * Key features:
  * - User retrieval based on authentication
+ * - Password and role changes, announced to credential caches
  * - Transactional operations
  * - Integration with Spring Security
  * - User validation and verification
@@ -31,12 +39,25 @@ public class UserService {
     private final UserRepository userRepository;
 
     /**
-     * Constructs a new UserService with the required UserRepository dependency.
+     * Encoder used to hash new passwords.
+     */
+    private final PasswordEncoder passwordEncoder;
+
+    /**
+     * Publisher announcing credential changes to caches of verified credentials.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Constructs a new UserService with its required dependencies.
      * Uses constructor injection as per Spring best practices for better testability
      * and immutability.
      */
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -48,4 +69,51 @@ public class UserService {
         return userRepository.findByUsername(authentication.getName())
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
+
+    /**
+     * Gets a reference to the currently authenticated user without loading it.
+     * The principal carries the user ID, so the returned proxy is enough to set the owner
+     * of a new entity; principals without an ID fall back to a lookup by username.
+     */
+    public User getCurrentUserReference(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof TodoUserDetails principal
+                && principal.getId() != null) {
+            return userRepository.getReferenceById(principal.getId());
+        }
+        return getCurrentUser(authentication);
+    }
+
+    /**
+     * Sets a new password for a user.
+     * Cached verifications of the old password stop being accepted once the change commits.
+     * No endpoint exposes password changes yet; this is the path such a change must take.
+     */
+    @Transactional
+    public void changePassword(String username, String rawPassword) {
+        if (rawPassword == null || rawPassword.isBlank()) {
+            throw new IllegalArgumentException("Password is required");
+        }
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        user.setPassword(passwordEncoder.encode(rawPassword));
+        userRepository.save(user);
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(username));
+    }
+
+    /**
+     * Replaces the roles of a user.
+     * Cached verifications carrying the old roles stop being accepted once the change commits.
+     * No endpoint exposes role changes yet; this is the path such a change must take.
+     */
+    @Transactional
+    public void updateRoles(String username, Set<String> roles) {
+        if (roles == null || roles.isEmpty()) {
+            throw new IllegalArgumentException("At least one role is required");
+        }
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        user.setRoles(new HashSet<>(roles));
+        userRepository.save(user);
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(username));
+    }
 }
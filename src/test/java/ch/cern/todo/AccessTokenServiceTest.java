@@ -0,0 +1,161 @@
+package ch.cern.todo;
+
+import ch.cern.todo.event.UserCredentialsChangedEvent;
+import ch.cern.todo.security.AccessTokenClaims;
+import ch.cern.todo.security.AccessTokenService;
+import ch.cern.todo.security.TodoUserDetails;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the AccessTokenService class.
+ *
+ * Test coverage includes:
+ * - Issue and verification round trip
+ * - Rejection of tampered, expired and revoked tokens
+ * - Key rotation with overlap
+ * - Rejection after credential changes
+ */
+class AccessTokenServiceTest {
+
+    private MutableClock clock;
+    private AccessTokenService service;
+    private TodoUserDetails user;
+
+    /**
+     * Sets up a service with a 15 minute token lifetime and a controllable clock.
+     */
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2030-01-01T10:00:00Z"));
+        service = new AccessTokenService(new ObjectMapper(), clock, Duration.ofMinutes(15), Duration.ofHours(12), 100);
+        user = new TodoUserDetails(7L, "user1", null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    /**
+     * Tests that an issued token verifies to the user's claims.
+     */
+    @Test
+    void verify_ShouldAcceptIssuedToken() {
+        String token = service.issue(user).token();
+
+        AccessTokenClaims claims = service.verify(token).orElseThrow();
+
+        assertThat(claims.userId()).isEqualTo(7L);
+        assertThat(claims.username()).isEqualTo("user1");
+        assertThat(claims.roles()).containsExactly("ROLE_USER");
+    }
+
+    /**
+     * Tests that modified, malformed and expired tokens are rejected.
+     */
+    @Test
+    void verify_ShouldRejectTamperedAndExpiredTokens() {
+        String token = service.issue(user).token();
+        String[] parts = token.split("\\.");
+        String forgedClaims = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                "{\"id\":\"x\",\"userId\":1,\"username\":\"admin\",\"roles\":[\"ROLE_ADMIN\"],\"issuedAt\":0,\"expiresAt\":9999999999999}"
+                        .getBytes());
+
+        assertThat(service.verify(parts[0] + "." + forgedClaims + "." + parts[2])).isEmpty();
+        assertThat(service.verify("not-a-token")).isEmpty();
+        assertThat(service.verify(token + "x")).isEmpty();
+
+        clock.advance(Duration.ofMinutes(15));
+        assertThat(service.verify(token)).isEmpty();
+    }
+
+    /**
+     * Tests that revoked tokens and tokens predating a credential change are rejected.
+     */
+    @Test
+    void verify_ShouldRejectRevokedTokens() {
+        AccessTokenService.IssuedToken revoked = service.issue(user);
+        String kept = service.issue(user).token();
+
+        service.revoke(revoked.claims());
+        assertThat(service.verify(revoked.token())).isEmpty();
+        assertThat(service.verify(kept)).isPresent();
+
+        clock.advance(Duration.ofSeconds(1));
+        service.onCredentialsChanged(new UserCredentialsChangedEvent("user1"));
+        assertThat(service.verify(kept)).isEmpty();
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(service.verify(service.issue(user).token())).isPresent();
+    }
+
+    /**
+     * Tests that a token issued in the same millisecond as a credential change is rejected.
+     */
+    @Test
+    void verify_WithTokenIssuedAtCredentialChange_ShouldRejectToken() {
+        String token = service.issue(user).token();
+
+        service.onCredentialsChanged(new UserCredentialsChangedEvent("user1"));
+
+        assertThat(service.verify(token)).isEmpty();
+    }
+
+    /**
+     * Tests that tokens signed with a retired key stay valid until they expire.
+     */
+    @Test
+    void rotateKeys_ShouldKeepRetiredKeyUntilTokensExpire() {
+        String oldToken = service.issue(user).token();
+
+        service.rotateKeys();
+        String newToken = service.issue(user).token();
+
+        assertThat(newToken.substring(0, newToken.indexOf('.')))
+                .isNotEqualTo(oldToken.substring(0, oldToken.indexOf('.')));
+        assertThat(service.verify(oldToken)).isPresent();
+
+        clock.advance(Duration.ofMinutes(16));
+        service.rotateKeys();
+        assertThat(service.verify(oldToken)).isEmpty();
+    }
+
+    /**
+     * Clock that tests can move forward.
+     */
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
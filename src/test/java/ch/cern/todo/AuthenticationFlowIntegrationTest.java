@@ -0,0 +1,187 @@
+package ch.cern.todo;
+
+import ch.cern.todo.model.TaskCategory;
+import ch.cern.todo.model.User;
+import ch.cern.todo.repository.TaskCategoryRepository;
+import ch.cern.todo.repository.TaskRepository;
+import ch.cern.todo.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * End-to-end tests of sign-in through the full security filter chain.
+ *
+ * Features tested:
+ * - Access token issued for Basic credentials and accepted as a Bearer token
+ * - Tampered and revoked tokens rejected by the bearer token filter
+ * - No token issued to a caller authenticated with a token
+ * - Repeated bad passwords throttled with 429 and Retry-After
+ */
+@SpringBootTest(
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:authflow;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.sql.init.mode=never",
+                "todo.search.fulltext.directory=build/fulltext-index-authflow"
+        }
+)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthenticationFlowIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskCategoryRepository categoryRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private TaskCategory category;
+
+    /**
+     * Sets up a user for the token tests, a separate user for the throttle test, and a
+     * category both may read.
+     */
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        categoryRepository.deleteAll();
+
+        category = categoryRepository.save(new TaskCategory("Auth Category"));
+
+        User user = new User();
+        user.setUsername("tokenuser");
+        user.setPassword(passwordEncoder.encode("password1"));
+        user.setRoles(new HashSet<>(Collections.singleton("ROLE_USER")));
+        userRepository.save(user);
+
+        User throttled = new User();
+        throttled.setUsername("throttleduser");
+        throttled.setPassword(passwordEncoder.encode("password1"));
+        throttled.setRoles(new HashSet<>(Collections.singleton("ROLE_USER")));
+        userRepository.save(throttled);
+    }
+
+    /**
+     * Tests that a token issued for Basic credentials authenticates later requests.
+     */
+    @Test
+    void issuedToken_ShouldAuthenticateAsBearer() throws Exception {
+        String token = issueToken();
+
+        mockMvc.perform(get("/api/categories/" + category.getCategoryId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categoryName").value("Auth Category"));
+    }
+
+    /**
+     * Tests that a token whose signature was altered is rejected.
+     */
+    @Test
+    void tamperedToken_ShouldBeRejected() throws Exception {
+        String token = issueToken();
+        int signature = token.lastIndexOf('.') + 1;
+        char replacement = token.charAt(signature) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, signature) + replacement + token.substring(signature + 1);
+
+        mockMvc.perform(get("/api/categories/" + category.getCategoryId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tampered))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string(HttpHeaders.WWW_AUTHENTICATE, containsString("invalid_token")));
+    }
+
+    /**
+     * Tests that a revoked token is rejected on its next use.
+     */
+    @Test
+    void revokedToken_ShouldBeRejected() throws Exception {
+        String token = issueToken();
+
+        mockMvc.perform(post("/api/auth/revoke")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/categories/" + category.getCategoryId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string(HttpHeaders.WWW_AUTHENTICATE, containsString("invalid_token")));
+    }
+
+    /**
+     * Tests that a token cannot be exchanged for another one.
+     */
+    @Test
+    void issueToken_WithBearerAuthentication_ShouldBeForbidden() throws Exception {
+        String token = issueToken();
+
+        mockMvc.perform(post("/api/auth/token")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    /**
+     * Tests that failed sign-ins beyond the username burst are answered with 429 before
+     * the password is checked, and that the failures are counted through the
+     * authentication failure events. Uses its own user so other tests are not throttled.
+     */
+    @Test
+    void repeatedBadPasswords_ShouldBeThrottled() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/api/categories/" + category.getCategoryId())
+                            .with(httpBasic("throttleduser", "wrong")))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        mockMvc.perform(get("/api/categories/" + category.getCategoryId())
+                        .with(httpBasic("throttleduser", "password1")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    /**
+     * Signs in with the test user's password and returns the issued token.
+     */
+    private String issueToken() throws Exception {
+        String body = mockMvc.perform(post("/api/auth/token")
+                        .with(httpBasic("tokenuser", "password1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token_type").value("Bearer"))
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(body).get("access_token").asText();
+        assertThat(token).isNotBlank();
+        return token;
+    }
+}
@@ -0,0 +1,103 @@
+package ch.cern.todo;
+
+import ch.cern.todo.event.UserCredentialsChangedEvent;
+import ch.cern.todo.security.CachingAuthenticationProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the CachingAuthenticationProvider class.
+ *
+ * Test coverage includes:
+ * - Repeated correct credentials skipping the delegate
+ * - Wrong passwords always reaching the delegate
+ * - Invalidation on credential changes
+ */
+@ExtendWith(MockitoExtension.class)
+class CachingAuthenticationProviderTest {
+
+    @Mock
+    private AuthenticationProvider delegate;
+
+    private CachingAuthenticationProvider provider;
+
+    /**
+     * Sets up a provider whose delegate accepts "user1" with "password1" only.
+     */
+    @BeforeEach
+    void setUp() {
+        provider = new CachingAuthenticationProvider(delegate, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        lenient().when(delegate.authenticate(any())).thenAnswer(invocation -> {
+            Authentication request = invocation.getArgument(0);
+            if (!"password1".equals(request.getCredentials())) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            return UsernamePasswordAuthenticationToken.authenticated(request.getName(), null,
+                    List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        });
+    }
+
+    /**
+     * Tests that correct credentials are verified once and then served from the cache.
+     */
+    @Test
+    void authenticate_ShouldVerifyCorrectCredentialsOnce() {
+        Authentication first = provider.authenticate(request("password1"));
+        Authentication second = provider.authenticate(request("password1"));
+
+        assertThat(second.isAuthenticated()).isTrue();
+        assertThat(second.getName()).isEqualTo("user1");
+        assertThat(second.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_USER");
+        assertThat(second).isNotSameAs(first);
+        verify(delegate, times(1)).authenticate(any());
+    }
+
+    /**
+     * Tests that a wrong password is never answered from the cache.
+     */
+    @Test
+    void authenticate_ShouldAlwaysVerifyWrongPasswords() {
+        provider.authenticate(request("password1"));
+
+        assertThatThrownBy(() -> provider.authenticate(request("wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> provider.authenticate(request("wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+        verify(delegate, times(2)).authenticate(argThat(auth -> "wrong".equals(auth.getCredentials())));
+    }
+
+    /**
+     * Tests that a credential change forces the next request through the delegate.
+     */
+    @Test
+    void onCredentialsChanged_ShouldDropUserEntries() {
+        provider.authenticate(request("password1"));
+
+        provider.onCredentialsChanged(new UserCredentialsChangedEvent("user1"));
+        provider.authenticate(request("password1"));
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    private static Authentication request(String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated("user1", password);
+    }
+}
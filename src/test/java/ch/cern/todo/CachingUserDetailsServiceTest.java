@@ -0,0 +1,143 @@
+package ch.cern.todo;
+
+import ch.cern.todo.event.UserCredentialsChangedEvent;
+import ch.cern.todo.model.User;
+import ch.cern.todo.repository.UserRepository;
+import ch.cern.todo.security.CachingUserDetailsService;
+import ch.cern.todo.security.TodoUserDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the CachingUserDetailsService class.
+ *
+ * Test coverage includes:
+ * - Single database lookup for repeated authentications
+ * - Copies protecting the cached password from erasure
+ * - Eviction on credential changes
+ * - Unknown users not being cached
+ * - Re-encoded hashes stored only over the verified hash
+ * - Hit and miss metrics
+ */
+@ExtendWith(MockitoExtension.class)
+class CachingUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachingUserDetailsService service;
+    private User user;
+
+    /**
+     * Sets up a service over a repository holding one user.
+     */
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new CachingUserDetailsService(userRepository, meterRegistry, 100, Duration.ofMinutes(10));
+        user = new User();
+        user.setId(1L);
+        user.setUsername("user1");
+        user.setPassword("hash");
+        user.setRoles(Set.of("ROLE_USER"));
+    }
+
+    /**
+     * Tests that repeated lookups hit the database once and hand out independent copies.
+     */
+    @Test
+    void loadUserByUsername_ShouldCacheAndReturnCopies() {
+        when(userRepository.findWithRolesByUsername("user1")).thenReturn(Optional.of(user));
+
+        TodoUserDetails first = service.loadUserByUsername("user1");
+        first.eraseCredentials();
+        TodoUserDetails second = service.loadUserByUsername("user1");
+
+        assertThat(second.getPassword()).isEqualTo("hash");
+        assertThat(second.getId()).isEqualTo(1L);
+        assertThat(second.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_USER");
+        verify(userRepository, times(1)).findWithRolesByUsername("user1");
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CachingUserDetailsService.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    /**
+     * Tests that a credential change makes the next lookup read the database again.
+     */
+    @Test
+    void onCredentialsChanged_ShouldEvictUser() {
+        when(userRepository.findWithRolesByUsername("user1")).thenReturn(Optional.of(user));
+        service.loadUserByUsername("user1");
+
+        user.setRoles(Set.of("ROLE_ADMIN"));
+        service.onCredentialsChanged(new UserCredentialsChangedEvent("user1"));
+
+        assertThat(service.loadUserByUsername("user1").getAuthorities())
+                .extracting(Object::toString).containsExactly("ROLE_ADMIN");
+        verify(userRepository, times(2)).findWithRolesByUsername("user1");
+    }
+
+    /**
+     * Tests that a re-encoded hash replaces the verified one, in the store and the cache.
+     */
+    @Test
+    void updatePassword_ShouldStoreRehashAndUpdateCache() {
+        when(userRepository.findWithRolesByUsername("user1")).thenReturn(Optional.of(user));
+        TodoUserDetails verified = service.loadUserByUsername("user1");
+        when(userRepository.updatePasswordIfUnchanged("user1", "hash", "rehash")).thenReturn(1);
+
+        UserDetails updated = service.updatePassword(verified, "rehash");
+
+        assertThat(updated.getPassword()).isEqualTo("rehash");
+        assertThat(service.loadUserByUsername("user1").getPassword()).isEqualTo("rehash");
+        verify(userRepository, times(1)).findWithRolesByUsername("user1");
+    }
+
+    /**
+     * Tests that a password change committed while a sign-in with the old password was
+     * being verified is not undone by the re-encoded hash of the old password.
+     */
+    @Test
+    void updatePassword_AfterConcurrentPasswordChange_ShouldKeepNewPassword() {
+        when(userRepository.findWithRolesByUsername("user1")).thenReturn(Optional.of(user));
+        TodoUserDetails verified = service.loadUserByUsername("user1");
+
+        // The password change commits: the stored hash is no longer the verified one
+        user.setPassword("new-hash");
+        service.onCredentialsChanged(new UserCredentialsChangedEvent("user1"));
+        when(userRepository.updatePasswordIfUnchanged("user1", "hash", "rehash")).thenReturn(0);
+
+        UserDetails updated = service.updatePassword(verified, "rehash");
+
+        assertThat(updated.getPassword()).isEqualTo("hash");
+        assertThat(service.loadUserByUsername("user1").getPassword()).isEqualTo("new-hash");
+        verify(userRepository, never()).save(any());
+    }
+
+    /**
+     * Tests that unknown usernames fail every time without being remembered.
+     */
+    @Test
+    void loadUserByUsername_ShouldNotCacheUnknownUsers() {
+        when(userRepository.findWithRolesByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.loadUserByUsername("ghost")).isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> service.loadUserByUsername("ghost")).isInstanceOf(UsernameNotFoundException.class);
+        verify(userRepository, times(2)).findWithRolesByUsername("ghost");
+    }
+}
@@ -0,0 +1,48 @@
+package ch.cern.todo;
+
+import ch.cern.todo.security.CalibratedBCryptPasswordEncoder;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the CalibratedBCryptPasswordEncoder class.
+ *
+ * Test coverage includes:
+ * - Calibration staying within bounds
+ * - Re-encoding requested for lower and higher costs
+ * - Verification of hashes of any cost
+ */
+class CalibratedBCryptPasswordEncoderTest {
+
+    /**
+     * Tests that the calibrated strength never leaves the configured bounds.
+     */
+    @Test
+    void calibrate_ShouldStayWithinBounds() {
+        assertThat(CalibratedBCryptPasswordEncoder.calibrate(Duration.ofNanos(1), 5, 7).getStrength()).isEqualTo(5);
+        assertThat(CalibratedBCryptPasswordEncoder.calibrate(Duration.ofDays(1), 5, 7).getStrength()).isEqualTo(7);
+        assertThatThrownBy(() -> CalibratedBCryptPasswordEncoder.calibrate(Duration.ofSeconds(1), 8, 6))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Tests that hashes of any other cost are re-encoded and still verify.
+     */
+    @Test
+    void upgradeEncoding_ShouldFollowCurrentStrength() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+        String lower = new BCryptPasswordEncoder(4).encode("secret");
+        String higher = new BCryptPasswordEncoder(6).encode("secret");
+
+        assertThat(encoder.upgradeEncoding(lower)).isTrue();
+        assertThat(encoder.upgradeEncoding(higher)).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("secret"))).isFalse();
+        assertThat(encoder.matches("secret", lower)).isTrue();
+        assertThat(encoder.matches("secret", higher)).isTrue();
+    }
+}
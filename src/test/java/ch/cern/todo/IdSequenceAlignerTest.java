@@ -0,0 +1,47 @@
+package ch.cern.todo;
+
+import ch.cern.todo.config.IdSequenceAligner;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the IdSequenceAligner class.
+ *
+ * Test coverage includes:
+ * - Sequences restarted one pooled block past the largest stored ID
+ * - Empty tables starting with the first block
+ */
+@ExtendWith(MockitoExtension.class)
+class IdSequenceAlignerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Tests that each sequence hands out IDs right after the rows stored under identity columns.
+     */
+    @Test
+    void afterSingletonsInstantiated_ShouldRestartSequencesPastStoredIds() {
+        when(jdbcTemplate.queryForObject(eq("SELECT MAX(TASK_ID) FROM TASKS"), eq(Long.class))).thenReturn(1234L);
+        when(jdbcTemplate.queryForObject(eq("SELECT MAX(CATEGORY_ID) FROM TASK_CATEGORIES"), eq(Long.class)))
+                .thenReturn(7L);
+        when(jdbcTemplate.queryForObject(eq("SELECT MAX(ID) FROM USERS"), eq(Long.class))).thenReturn(null);
+
+        new IdSequenceAligner(jdbcTemplate, entityManagerFactory).afterSingletonsInstantiated();
+
+        // A pooled sequence value is the upper end of its block of 50 IDs
+        verify(jdbcTemplate).execute("ALTER SEQUENCE TASKS_SEQ RESTART WITH 1284");
+        verify(jdbcTemplate).execute("ALTER SEQUENCE TASK_CATEGORIES_SEQ RESTART WITH 57");
+        verify(jdbcTemplate).execute("ALTER SEQUENCE USERS_SEQ RESTART WITH 50");
+    }
+}
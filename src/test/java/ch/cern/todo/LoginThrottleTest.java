@@ -0,0 +1,73 @@
+package ch.cern.todo;
+
+import ch.cern.todo.security.LoginThrottle;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the LoginThrottle class.
+ *
+ * Test coverage includes:
+ * - Unlimited attempts without failures
+ * - Throttling per username after the burst of failures
+ * - Refill over time
+ * - Throttling per client address across usernames
+ * - Rejection counters
+ */
+class LoginThrottleTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private LoginThrottle throttle;
+
+    /**
+     * Sets up a throttle allowing 3 failures per username (refilled 6 per minute)
+     * and 5 per address (refilled 60 per minute).
+     */
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        throttle = new LoginThrottle(meterRegistry, now::get,
+                new LoginThrottle.Limit(3, 6), new LoginThrottle.Limit(5, 60), 1000);
+    }
+
+    /**
+     * Tests that a username is held back after its burst of failures, until a token refills.
+     */
+    @Test
+    void retryAfter_ShouldThrottleUsernameAfterFailures() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(throttle.retryAfter("user1", null)).isZero();
+            throttle.recordFailure("user1", null);
+        }
+
+        assertThat(throttle.retryAfter("user1", null)).isEqualTo(Duration.ofSeconds(10));
+        assertThat(throttle.retryAfter("user2", null)).isZero();
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThat(throttle.retryAfter("user1", null)).isZero();
+        assertThat(meterRegistry.get(LoginThrottle.REJECTIONS_METRIC).tag("scope", "username")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    /**
+     * Tests that an address is held back after failures spread over many usernames.
+     */
+    @Test
+    void retryAfter_ShouldThrottleAddressAcrossUsernames() {
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure("user" + i, "10.0.0.1");
+        }
+
+        assertThat(throttle.retryAfter("user9", "10.0.0.1")).isEqualTo(Duration.ofSeconds(1));
+        assertThat(throttle.retryAfter("user9", "10.0.0.2")).isZero();
+        assertThat(meterRegistry.get(LoginThrottle.REJECTIONS_METRIC).tag("scope", "address")
+                .counter().count()).isEqualTo(1.0);
+    }
+}
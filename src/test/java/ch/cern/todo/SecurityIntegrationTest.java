@@ -18,6 +18,8 @@ import org.springframework.test.context.ActiveProfiles;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -36,6 +38,7 @@ import static org.assertj.core.api.Assertions.assertThat;
         properties = {
                 "spring.jpa.hibernate.ddl-auto=create-drop",
                 "spring.sql.init.mode=never",
+                "todo.search.fulltext.directory=build/fulltext-index-test",
                 "logging.level.org.springframework.security=DEBUG",
                 "logging.level.org.springframework.web=DEBUG",
                 "logging.level.ch.cern.todo=DEBUG",
@@ -106,9 +109,9 @@ class SecurityIntegrationTest {
      */
     @Test
     void verifyUserSetup() {
-        User foundUser1 = userRepository.findByUsername("user1")
+        User foundUser1 = userRepository.findWithRolesByUsername("user1")
                 .orElseThrow(() -> new RuntimeException("User1 not found"));
-        User foundUser2 = userRepository.findByUsername("user2")
+        User foundUser2 = userRepository.findWithRolesByUsername("user2")
                 .orElseThrow(() -> new RuntimeException("User2 not found"));
 
         assertThat(foundUser1.getRoles()).contains("ROLE_USER");
@@ -131,6 +134,30 @@ class SecurityIntegrationTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
     }
 
+    /**
+     * Tests that a created task is returned with the stored name of its category, when
+     * the request names only the category ID or a made-up name.
+     */
+    @Test
+    void whenTaskCreated_thenResponseNamesStoredCategory() {
+        String deadline = LocalDateTime.now().plusDays(2).withNano(0).toString();
+        for (String category : List.of(
+                "{\"categoryId\":" + this.category.getCategoryId() + "}",
+                "{\"categoryId\":" + this.category.getCategoryId() + ",\"categoryName\":\"Invented\"}")) {
+            String body = "{\"taskName\":\"New Task\",\"deadline\":\"" + deadline + "\",\"category\":" + category + "}";
+
+            ResponseEntity<Map> response = restTemplate.exchange(
+                    "/api/tasks",
+                    HttpMethod.POST,
+                    new HttpEntity<>(body, createBasicAuthHeaders("user1", "password1")),
+                    Map.class
+            );
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).containsEntry("categoryName", "Test Category");
+        }
+    }
+
     /**
      * Creates a new user with specified credentials and role.
      */
@@ -1,8 +1,8 @@
 package ch.cern.todo;
 
-import ch.cern.todo.model.Task;
-import ch.cern.todo.model.User;
-import ch.cern.todo.repository.TaskRepository;
+import ch.cern.todo.exception.TaskNotFoundException;
+import ch.cern.todo.security.TaskOwnershipCache;
+import ch.cern.todo.security.TodoUserDetails;
 import ch.cern.todo.service.SecurityService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,10 +15,15 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 /**
@@ -27,7 +32,9 @@ import static org.mockito.Mockito.*;
  *
  * Test coverage includes:
  * - Admin access verification
- * - Task ownership verification
+ * - Task ownership verification by user ID
+ * - Missing tasks
+ * - Bulk access bitmaps
  * - Authorization combinations
  * - Security context handling
  */
@@ -35,22 +42,18 @@ import static org.mockito.Mockito.*;
 class SecurityServiceTest {
 
     @Mock
-    private TaskRepository taskRepository;
+    private TaskOwnershipCache taskOwnershipCache;
 
     @InjectMocks
     private SecurityService securityService;
 
     private Authentication authentication;
     private SecurityContext securityContext;
-    private Task testTask;
-    private User testUser;
 
     /**
      * Sets up test environment before each test.
      * Initializes:
      * - Security context and authentication mocks
-     * - Test user with basic attributes
-     * - Test task with owner relationship
      * - Security context holder configuration
      *
      * This setup ensures proper security context for each test.
@@ -62,16 +65,6 @@ class SecurityServiceTest {
         securityContext = mock(SecurityContext.class);
         SecurityContextHolder.setContext(securityContext);
         when(securityContext.getAuthentication()).thenReturn(authentication);
-
-        // Initialize test user
-        testUser = new User();
-        testUser.setId(1L);
-        testUser.setUsername("testuser");
-
-        // Initialize test task with owner
-        testTask = new Task();
-        testTask.setTaskId(1L);
-        testTask.setUser(testUser);
     }
 
     /**
@@ -100,23 +93,23 @@ class SecurityServiceTest {
      * Verifies:
      * - Task ownership grants access
      * - User role is properly handled
-     * - Username matching works correctly
+     * - User ID matching works correctly
      */
     @Test
     void isOwnerOrAdmin_WithOwner_ShouldReturnTrue() {
-        // Setup user authority and authentication
+        // Setup user authority and principal
         SimpleGrantedAuthority userAuthority = new SimpleGrantedAuthority("ROLE_USER");
         doReturn(Collections.singleton(userAuthority)).when(authentication).getAuthorities();
-        when(authentication.getName()).thenReturn("testuser");
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+        when(authentication.getPrincipal()).thenReturn(principal(1L, "testuser"));
+        when(taskOwnershipCache.ownerOf(1L)).thenReturn(Optional.of(1L));
 
         // Verify owner access
         boolean result = securityService.isOwnerOrAdmin(1L);
         assertThat(result).isTrue();
 
-        // Verify repository and authentication were consulted
-        verify(taskRepository).findById(1L);
-        verify(authentication).getName();
+        // Verify ownership cache and authentication were consulted
+        verify(taskOwnershipCache).ownerOf(1L);
+        verify(authentication).getPrincipal();
     }
 
     /**
@@ -124,23 +117,66 @@ class SecurityServiceTest {
      * Verifies:
      * - Non-owners are denied access
      * - User role without ownership is insufficient
-     * - Username mismatch is properly handled
+     * - User ID mismatch is properly handled
      */
     @Test
     void isOwnerOrAdmin_WithNonOwner_ShouldReturnFalse() {
-        // Setup user authority with different username
+        // Setup user authority with a different user
         SimpleGrantedAuthority userAuthority = new SimpleGrantedAuthority("ROLE_USER");
         doReturn(Collections.singleton(userAuthority)).when(authentication).getAuthorities();
-        when(authentication.getName()).thenReturn("otheruser");
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+        when(authentication.getPrincipal()).thenReturn(principal(2L, "otheruser"));
+        when(taskOwnershipCache.ownerOf(1L)).thenReturn(Optional.of(1L));
 
         // Verify access is denied
         boolean result = securityService.isOwnerOrAdmin(1L);
         assertThat(result).isFalse();
 
         // Verify all security checks were performed
-        verify(taskRepository).findById(1L);
-        verify(authentication).getName();
+        verify(taskOwnershipCache).ownerOf(1L);
+        verify(authentication).getPrincipal();
         verify(authentication).getAuthorities();
     }
+
+    /**
+     * Tests that a check on a missing task reports it as not found.
+     */
+    @Test
+    void isOwnerOrAdmin_WithMissingTask_ShouldThrow() {
+        SimpleGrantedAuthority userAuthority = new SimpleGrantedAuthority("ROLE_USER");
+        doReturn(Collections.singleton(userAuthority)).when(authentication).getAuthorities();
+        when(taskOwnershipCache.ownerOf(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> securityService.isOwnerOrAdmin(99L))
+                .isInstanceOf(TaskNotFoundException.class);
+    }
+
+    /**
+     * Tests bulk authorization of several tasks.
+     * Verifies:
+     * - Owned tasks are allowed, foreign and missing ones denied, in request order
+     * - Owners are looked up once for the distinct IDs
+     * - Admins are allowed everything without a lookup
+     */
+    @Test
+    void authorizeTasks_ShouldReturnAllowedBitmap() {
+        SimpleGrantedAuthority userAuthority = new SimpleGrantedAuthority("ROLE_USER");
+        doReturn(Collections.singleton(userAuthority)).when(authentication).getAuthorities();
+        when(authentication.getPrincipal()).thenReturn(principal(1L, "testuser"));
+        when(taskOwnershipCache.ownersOf(Set.of(10L, 11L, 12L))).thenReturn(Map.of(10L, 1L, 11L, 2L));
+
+        BitSet allowed = securityService.authorizeTasks(List.of(10L, 11L, 12L, 10L),
+                SecurityContextHolder.getContext().getAuthentication());
+
+        assertThat(allowed.stream().toArray()).containsExactly(0, 3);
+        verify(taskOwnershipCache, times(1)).ownersOf(Set.of(10L, 11L, 12L));
+
+        Authentication admin = mock(Authentication.class);
+        doReturn(Collections.singleton(new SimpleGrantedAuthority("ROLE_ADMIN"))).when(admin).getAuthorities();
+        assertThat(securityService.authorizeTasks(List.of(10L, 11L), admin).cardinality()).isEqualTo(2);
+        verifyNoMoreInteractions(taskOwnershipCache);
+    }
+
+    private static TodoUserDetails principal(Long id, String username) {
+        return new TodoUserDetails(id, username, null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,142 @@
+package ch.cern.todo;
+
+import ch.cern.todo.exception.TaskNotFoundException;
+import ch.cern.todo.security.AuthorizeTask;
+import ch.cern.todo.security.AuthorizeTaskAdvisor;
+import ch.cern.todo.security.TaskAuthorizer;
+import ch.cern.todo.security.TaskId;
+import ch.cern.todo.security.TodoUserDetails;
+import ch.cern.todo.service.SecurityService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the TaskAuthorizer class and the advisor applying it.
+ *
+ * Test coverage includes:
+ * - Admin, owner and non-owner decisions
+ * - Decision counters
+ * - Enforcement on proxied @AuthorizeTask methods
+ */
+@ExtendWith(MockitoExtension.class)
+class TaskAuthorizerTest {
+
+    @Mock
+    private SecurityService securityService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskAuthorizer authorizer;
+
+    /**
+     * Sets up an authorizer with a fresh meter registry before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        authorizer = new TaskAuthorizer(securityService, meterRegistry);
+    }
+
+    /**
+     * Clears the security context after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Tests that admins pass without an ownership lookup and owners pass after one.
+     */
+    @Test
+    void authorize_ShouldGrantAdminsAndOwners() {
+        authorizer.authorize(1L, authentication(9L, "ROLE_ADMIN"));
+        verify(securityService, never()).hasAccessToTask(any(), any());
+
+        Authentication owner = authentication(1L, "ROLE_USER");
+        when(securityService.hasAccessToTask(1L, owner)).thenReturn(true);
+        authorizer.authorize(1L, owner);
+
+        assertThat(count("granted_admin")).isEqualTo(1.0);
+        assertThat(count("granted_owner")).isEqualTo(1.0);
+    }
+
+    /**
+     * Tests that non-owners and missing tasks are rejected and counted.
+     */
+    @Test
+    void authorize_ShouldRejectNonOwnersAndMissingTasks() {
+        Authentication other = authentication(2L, "ROLE_USER");
+        when(securityService.hasAccessToTask(1L, other)).thenReturn(false);
+        when(securityService.hasAccessToTask(99L, other)).thenThrow(new TaskNotFoundException("Task not found"));
+
+        assertThatThrownBy(() -> authorizer.authorize(1L, other)).isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> authorizer.authorize(99L, other)).isInstanceOf(TaskNotFoundException.class);
+        assertThatThrownBy(() -> authorizer.authorize(1L, null)).isInstanceOf(AccessDeniedException.class);
+
+        assertThat(count("denied")).isEqualTo(2.0);
+        assertThat(count("not_found")).isEqualTo(1.0);
+    }
+
+    /**
+     * Tests that the advisor checks annotated methods and leaves the others alone.
+     */
+    @Test
+    void advisor_ShouldAuthorizeAnnotatedMethods() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("taskAuthorizer", authorizer);
+        ProxyFactory proxyFactory = new ProxyFactory(new Tasks());
+        proxyFactory.addAdvisor(new AuthorizeTaskAdvisor(beanFactory.getBeanProvider(TaskAuthorizer.class)));
+        Tasks tasks = (Tasks) proxyFactory.getProxy();
+
+        Authentication other = authentication(2L, "ROLE_USER");
+        SecurityContextHolder.getContext().setAuthentication(other);
+        when(securityService.hasAccessToTask(1L, other)).thenReturn(false);
+
+        assertThatThrownBy(() -> tasks.delete("reason", 1L)).isInstanceOf(AccessDeniedException.class);
+        assertThat(tasks.name(1L)).isEqualTo("task 1");
+    }
+
+    private double count(String decision) {
+        return meterRegistry.get(TaskAuthorizer.METRIC_NAME).tag("decision", decision).counter().count();
+    }
+
+    private static Authentication authentication(Long userId, String role) {
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(role));
+        return UsernamePasswordAuthenticationToken.authenticated(
+                new TodoUserDetails(userId, "user" + userId, null, authorities), null, authorities);
+    }
+
+    /**
+     * Target with one guarded and one open method.
+     */
+    static class Tasks {
+
+        @AuthorizeTask
+        public String delete(String reason, @TaskId Long id) {
+            return "deleted " + id;
+        }
+
+        public String name(Long id) {
+            return "task " + id;
+        }
+    }
+}
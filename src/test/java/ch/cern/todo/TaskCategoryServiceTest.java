@@ -1,6 +1,7 @@
 package ch.cern.todo;
 
 import ch.cern.todo.dto.CategoryDTO;
+import ch.cern.todo.event.TaskCategoryChangedEvent;
 import ch.cern.todo.model.TaskCategory;
 import ch.cern.todo.repository.TaskCategoryRepository;
 import ch.cern.todo.service.TaskCategoryService;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
@@ -34,6 +36,9 @@ class TaskCategoryServiceTest {
     @Mock
     private TaskCategoryRepository categoryRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TaskCategoryService categoryService;
 
@@ -122,6 +127,7 @@ class TaskCategoryServiceTest {
      * - All fields are updated from DTO
      * - Repository find and save methods are called
      * - Updated category reflects changes
+     * - A change event is published for derived indexes
      */
     @Test
     void updateCategory_WithValidId_ShouldReturnUpdatedCategory() {
@@ -141,5 +147,6 @@ class TaskCategoryServiceTest {
         assertThat(updated.getCategoryName()).isEqualTo(updateDTO.getCategoryName());
         verify(categoryRepository, times(1)).findById(1L);
         verify(categoryRepository, times(1)).save(any(TaskCategory.class));
+        verify(eventPublisher).publishEvent(any(TaskCategoryChangedEvent.class));
     }
 }
\ No newline at end of file
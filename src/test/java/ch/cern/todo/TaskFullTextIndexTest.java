@@ -0,0 +1,162 @@
+package ch.cern.todo;
+
+import ch.cern.todo.dto.TaskFullTextHit;
+import ch.cern.todo.event.TaskCategoryChangedEvent;
+import ch.cern.todo.event.TaskChangedEvent;
+import ch.cern.todo.model.TaskCategory;
+import ch.cern.todo.repository.TaskCategoryRepository;
+import ch.cern.todo.repository.TaskRepository;
+import ch.cern.todo.search.TaskFullTextIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the TaskFullTextIndex class.
+ * Runs against a real Lucene index in a temporary directory.
+ *
+ * Test coverage includes:
+ * - Stemmed, ranked matching across fields
+ * - Owner filtering
+ * - Incremental updates, deletions and category renames
+ * - Writes made while a rebuild starts surviving the rebuild
+ * - Category names indexed as stored, whatever name the event carries
+ */
+class TaskFullTextIndexTest {
+
+    @TempDir
+    Path indexDirectory;
+
+    private TaskFullTextIndex index;
+    private TaskRepository taskRepository;
+    private TaskCategoryRepository categoryRepository;
+    private final LocalDateTime deadline = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    /**
+     * Opens an empty index and adds a few tasks before each test.
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        taskRepository = mock(TaskRepository.class);
+        categoryRepository = mock(TaskCategoryRepository.class);
+        when(categoryRepository.findById(10L)).thenReturn(Optional.of(new TaskCategory("Work")));
+        when(categoryRepository.findById(20L)).thenReturn(Optional.of(new TaskCategory("Home")));
+        index = new TaskFullTextIndex(taskRepository, categoryRepository,
+                indexDirectory, 100);
+        index.onTaskChanged(saved(1L, "Prepare meetings", "Agenda for the team", 10L, "Work", "user1"));
+        index.onTaskChanged(saved(2L, "Buy milk", "Weekly groceries and a meeting snack", 20L, "Home", "user1"));
+        index.onTaskChanged(saved(3L, "Review budget", "Quarterly planning", 10L, "Work", "user2"));
+        assertThat(index.flush(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    /**
+     * Closes the index after each test.
+     */
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    /**
+     * Tests that stemmed terms match and name matches rank above description matches.
+     */
+    @Test
+    void search_ShouldMatchStemsAndRankNameFirst() {
+        List<TaskFullTextHit> hits = index.search("meeting", null, 10);
+
+        assertThat(hits).extracting(hit -> hit.getTask().getTaskId()).containsExactly(1L, 2L);
+        assertThat(hits.get(0).getScore()).isGreaterThan(hits.get(1).getScore());
+        assertThat(hits.get(0).getTask().getCategoryName()).isEqualTo("Work");
+        assertThat(hits.get(0).getTask().getDeadline()).isEqualTo(deadline);
+    }
+
+    /**
+     * Tests that the owner filter hides other users' tasks.
+     */
+    @Test
+    void search_WithOwner_ShouldOnlyReturnOwnedTasks() {
+        assertThat(index.search("work", "user2", 10))
+                .extracting(hit -> hit.getTask().getTaskId())
+                .containsExactly(3L);
+    }
+
+    /**
+     * Tests that updates, deletions and category renames are reflected after a flush.
+     */
+    @Test
+    void events_ShouldUpdateIndex() throws Exception {
+        index.onTaskChanged(saved(2L, "Buy bread", "Weekly groceries", 20L, "Home", "user1"));
+        index.onTaskChanged(TaskChangedEvent.deleted(3L));
+        index.onCategoryChanged(new TaskCategoryChangedEvent(10L, "Office"));
+        assertThat(index.flush(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(index.search("milk", null, 10)).isEmpty();
+        assertThat(index.search("budget", null, 10)).isEmpty();
+        assertThat(index.search("office", null, 10))
+                .extracting(hit -> hit.getTask().getTaskId())
+                .containsExactly(1L);
+    }
+
+    /**
+     * Tests that the stored category name is indexed, not the name carried by the event,
+     * which may come from a request body.
+     */
+    @Test
+    void onTaskChanged_WithMadeUpCategoryName_ShouldIndexStoredName() throws Exception {
+        index.onTaskChanged(saved(4L, "Water plants", null, 20L, "Invented", "user1"));
+        assertThat(index.flush(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(index.search("invented", null, 10)).isEmpty();
+        assertThat(index.search("plants", null, 10))
+                .extracting(hit -> hit.getTask().getCategoryName())
+                .containsExactly("Home");
+    }
+
+    /**
+     * Tests that a task written just after a rebuild has started, before the rebuild has
+     * read anything, is kept when the rebuild drops the documents it did not rewrite.
+     */
+    @Test
+    void rebuildAsync_WithWriteAtStart_ShouldKeepWrittenTask() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(taskRepository.findDocumentsAfter(anyLong(), any())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        assertThat(index.rebuildAsync()).isTrue();
+        index.onTaskChanged(saved(4L, "Water plants", null, 20L, "Home", "user1"));
+        assertThat(index.flush(10, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+
+        long deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (index.isRebuilding() && System.nanoTime() < deadlineNanos) {
+            Thread.sleep(10);
+        }
+        assertThat(index.isRebuilding()).isFalse();
+        assertThat(index.search("plants", null, 10))
+                .extracting(hit -> hit.getTask().getTaskId())
+                .containsExactly(4L);
+        assertThat(index.search("meeting", null, 10)).isEmpty();
+    }
+
+    private TaskChangedEvent saved(Long id, String name, String description,
+                                   Long categoryId, String categoryName, String owner) {
+        return new TaskChangedEvent(TaskChangedEvent.Type.CREATED, id, name, description,
+                deadline, categoryId, categoryName, owner);
+    }
+}
@@ -0,0 +1,209 @@
+package ch.cern.todo;
+
+import ch.cern.todo.dto.TaskImportError;
+import ch.cern.todo.dto.TaskImportResult;
+import ch.cern.todo.event.TaskChangedEvent;
+import ch.cern.todo.model.Task;
+import ch.cern.todo.model.TaskCategory;
+import ch.cern.todo.model.User;
+import ch.cern.todo.repository.TaskCategoryRepository;
+import ch.cern.todo.repository.TaskRepository;
+import ch.cern.todo.repository.UserRepository;
+import ch.cern.todo.security.TodoUserDetails;
+import ch.cern.todo.service.TaskImportService;
+import ch.cern.todo.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the TaskImportService class.
+ *
+ * Test coverage includes:
+ * - NDJSON rows imported, with invalid rows reported by line
+ * - Overlong NDJSON lines rejected without stopping the import
+ * - CSV records with quoted fields and categories resolved by name
+ * - Chunked saving, a failed chunk retried row by row without stopping the import
+ * - No lookup of the owner when the principal carries its ID
+ */
+@ExtendWith(MockitoExtension.class)
+class TaskImportServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskCategoryRepository taskCategoryRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicLong nextTaskId = new AtomicLong(1);
+    private TaskCategory work;
+    private Authentication authentication;
+    private String deadline;
+
+    /**
+     * Sets up one category, a caller whose principal carries its ID, and saves that assign IDs.
+     */
+    @BeforeEach
+    void setUp() {
+        work = new TaskCategory();
+        work.setCategoryId(3L);
+        work.setCategoryName("Work");
+        when(taskCategoryRepository.findAll()).thenReturn(List.of(work));
+        lenient().when(taskCategoryRepository.getReferenceById(3L)).thenReturn(work);
+        lenient().when(userRepository.getReferenceById(1L)).thenReturn(new User());
+        lenient().when(taskRepository.saveAll(anyList())).thenAnswer(this::assignIds);
+
+        TodoUserDetails principal = new TodoUserDetails(1L, "user1", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        deadline = LocalDateTime.now().plusDays(7).withNano(0).toString();
+    }
+
+    /**
+     * Tests that valid NDJSON lines are imported and invalid ones reported with their line.
+     */
+    @Test
+    void importTasks_Ndjson_ShouldImportValidRowsAndReportOthers() throws IOException {
+        String body = "{\"taskName\":\"Task A\",\"deadline\":\"" + deadline + "\",\"categoryId\":3}\n"
+                + "{\"taskName\":\n"
+                + "\n"
+                + "{\"taskName\":\"Task B\",\"deadline\":\"2000-01-01T00:00:00\",\"categoryId\":3}\n"
+                + "{\"taskName\":\"Task C\",\"deadline\":\"" + deadline + "\",\"categoryId\":99}\n";
+
+        TaskImportResult result = service(500).importTasks(upload(body), TaskImportService.Format.NDJSON,
+                authentication);
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getRejected()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting(TaskImportError::getLine).containsExactly(2L, 4L, 5L);
+        assertThat(result.getErrors().get(1).getMessage()).isEqualTo("Deadline must be in the future");
+        assertThat(result.getErrors().get(2).getMessage()).isEqualTo("Unknown category ID: 99");
+        verify(eventPublisher, times(1)).publishEvent(any(TaskChangedEvent.class));
+        verify(userService, never()).getCurrentUser(any());
+    }
+
+    /**
+     * Tests CSV records with quoted commas and line breaks, and categories given by name.
+     */
+    @Test
+    void importTasks_Csv_ShouldParseQuotedFieldsAndResolveCategoryNames() throws IOException {
+        String body = "taskName,taskDescription,deadline,categoryName\r\n"
+                + "\"Write report\",\"Draft, then\nreview \"\"final\"\"\"," + deadline + ",Work\r\n"
+                + "Plan,," + deadline + ",Unknown\r\n"
+                + "Too,few\r\n";
+
+        TaskImportResult result = service(500).importTasks(upload(body), TaskImportService.Format.CSV,
+                authentication);
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(TaskImportError::getLine).containsExactly(4L, 5L);
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("Unknown category: Unknown");
+        verify(taskRepository).saveAll(argThat((List<Task> tasks) -> tasks.size() == 1
+                && "Draft, then\nreview \"final\"".equals(tasks.get(0).getTaskDescription())));
+    }
+
+    /**
+     * Tests that a line longer than the maximum length is reported and the lines after
+     * it are still imported.
+     */
+    @Test
+    void importTasks_WithOverlongLine_ShouldRejectItAndContinue() throws IOException {
+        String body = "{\"taskName\":\"" + "x".repeat(500) + "\",\"deadline\":\"" + deadline + "\",\"categoryId\":3}\r\n"
+                + "{\"taskName\":\"Task B\",\"deadline\":\"" + deadline + "\",\"categoryId\":3}";
+
+        TaskImportResult result = service(500).importTasks(upload(body), TaskImportService.Format.NDJSON,
+                authentication);
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(TaskImportError::getLine).containsExactly(1L);
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("Line longer than 200 characters");
+    }
+
+    /**
+     * Tests that when one row of a chunk violates a database constraint, the chunk is
+     * retried row by row, only that row is reported, and the chunks after it are saved.
+     */
+    @Test
+    void importTasks_WhenRowFailsToSave_ShouldRejectOnlyThatRow() throws IOException {
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= 5; i++) {
+            body.append("{\"taskName\":\"Task ").append(i).append("\",\"deadline\":\"").append(deadline)
+                    .append("\",\"categoryId\":3}\n");
+        }
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            if (tasks.stream().anyMatch(task -> task.getTaskName().equals("Task 3"))) {
+                throw new DataIntegrityViolationException("constraint violated");
+            }
+            return assignIds(invocation);
+        });
+
+        TaskImportResult result = service(2).importTasks(upload(body.toString()), TaskImportService.Format.NDJSON,
+                authentication);
+
+        assertThat(result.getImported()).isEqualTo(4);
+        assertThat(result.getRejected()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(TaskImportError::getLine).containsExactly(3L);
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("Not saved: constraint violated");
+        // Chunks [1, 2], [3, 4], then [3] and [4] on their own, then [5]
+        verify(taskRepository, times(5)).saveAll(anyList());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(eventPublisher, times(4)).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    /**
+     * Assigns IDs to saved tasks, as the sequence would.
+     */
+    private List<Task> assignIds(InvocationOnMock invocation) {
+        List<Task> tasks = invocation.getArgument(0);
+        tasks.forEach(task -> task.setTaskId(nextTaskId.getAndIncrement()));
+        return tasks;
+    }
+
+    private TaskImportService service(int chunkSize) {
+        return new TaskImportService(taskRepository, taskCategoryRepository, userRepository, userService,
+                new ObjectMapper().findAndRegisterModules(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                eventPublisher, transactionManager, chunkSize, 100, 200);
+    }
+
+    private static InputStream upload(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,71 @@
+package ch.cern.todo;
+
+import ch.cern.todo.search.TaskNameTrie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the TaskNameTrie class.
+ *
+ * Test coverage includes:
+ * - Case-insensitive prefix lookups
+ * - Ranking by frequency, then alphabetically
+ * - Renames and removals, including pruning
+ * - Result limits
+ */
+class TaskNameTrieTest {
+
+    private TaskNameTrie trie;
+
+    /**
+     * Sets up a trie with a few task names before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        trie = new TaskNameTrie();
+        trie.put(1L, "Review budget");
+        trie.put(2L, "Review code");
+        trie.put(3L, "review code");
+        trie.put(4L, "Buy milk");
+    }
+
+    /**
+     * Tests that matches are case-insensitive and ranked by frequency, then alphabetically.
+     */
+    @Test
+    void suggest_ShouldRankByFrequencyThenName() {
+        assertThat(trie.suggest("REV", 10)).containsExactly("Review code", "Review budget");
+        assertThat(trie.suggest("b", 10)).containsExactly("Buy milk");
+        assertThat(trie.suggest("x", 10)).isEmpty();
+    }
+
+    /**
+     * Tests that renames and removals are reflected in suggestions.
+     */
+    @Test
+    void putAndRemove_ShouldUpdateSuggestions() {
+        trie.put(2L, "Reply to email");
+        trie.remove(3L);
+        trie.remove(4L);
+
+        assertThat(trie.suggest("rev", 10)).containsExactly("Review budget");
+        assertThat(trie.suggest("re", 10)).containsExactly("Reply to email", "Review budget");
+        assertThat(trie.suggest("buy", 10)).isEmpty();
+        assertThat(trie.size()).isEqualTo(2);
+    }
+
+    /**
+     * Tests that no more than the requested number of suggestions is returned.
+     */
+    @Test
+    void suggest_ShouldHonourLimit() {
+        for (long id = 10; id < 30; id++) {
+            trie.put(id, "Task " + id);
+        }
+
+        assertThat(trie.suggest("task", 3)).containsExactly("Task 10", "Task 11", "Task 12");
+        assertThat(trie.suggest("task", 50)).hasSize(TaskNameTrie.MAX_SUGGESTIONS);
+    }
+}
@@ -0,0 +1,270 @@
+package ch.cern.todo;
+
+import ch.cern.todo.dto.CategoryDTO;
+import ch.cern.todo.dto.TaskResponseDTO;
+import ch.cern.todo.dto.TaskSearchCriteria;
+import ch.cern.todo.dto.TaskSearchPage;
+import ch.cern.todo.model.Task;
+import ch.cern.todo.model.TaskCategory;
+import ch.cern.todo.model.User;
+import ch.cern.todo.repository.TaskCategoryRepository;
+import ch.cern.todo.repository.TaskRepository;
+import ch.cern.todo.repository.UserRepository;
+import ch.cern.todo.security.TodoUserDetails;
+import ch.cern.todo.service.SecurityService;
+import ch.cern.todo.service.TaskCategoryService;
+import ch.cern.todo.service.TaskService;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests counting the SQL statements issued by the main read paths.
+ * Statements are counted on the test thread only, so background index builds do not
+ * affect the counts.
+ *
+ * Features tested:
+ * - Search pages read in one statement
+ * - Task entity loaded with its category, owner and roles in one statement
+ * - Task owners read once per batch of IDs for authorization, then served from the cache
+ * - Category listing served from the query cache until a category is written
+ */
+@SpringBootTest(
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:querycount;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.sql.init.mode=never",
+                "todo.search.fulltext.directory=build/fulltext-index-querycount"
+        }
+)
+@ActiveProfiles("test")
+class TaskQueryCountIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private SecurityService securityService;
+
+    @Autowired
+    private TaskCategoryService categoryService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskCategoryRepository categoryRepository;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    private TaskCategory category;
+    private User owner;
+    private Task first;
+    private Task second;
+    private Authentication ownerAuthentication;
+
+    /**
+     * Registers the statement counter with Hibernate.
+     */
+    @TestConfiguration
+    static class StatementCounterConfig {
+
+        @Bean
+        StatementCounter statementCounter() {
+            return new StatementCounter();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementCounterCustomizer(StatementCounter statementCounter) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+        }
+    }
+
+    /**
+     * Counts the statements Hibernate prepares on the thread that started counting.
+     */
+    static class StatementCounter implements StatementInspector {
+
+        private final AtomicInteger count = new AtomicInteger();
+        private volatile Thread counted;
+
+        @Override
+        public String inspect(String sql) {
+            if (Thread.currentThread() == counted) {
+                count.incrementAndGet();
+            }
+            return sql;
+        }
+
+        void start() {
+            count.set(0);
+            counted = Thread.currentThread();
+        }
+
+        int stop() {
+            counted = null;
+            return count.get();
+        }
+    }
+
+    /**
+     * Sets up one category and one owner with two tasks.
+     */
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        categoryRepository.deleteAll();
+
+        category = new TaskCategory();
+        category.setCategoryName("Query Count Category");
+        category = categoryRepository.save(category);
+
+        owner = new User();
+        owner.setUsername("counted");
+        owner.setPassword("not-used");
+        owner.setRoles(new HashSet<>(Set.of("ROLE_USER")));
+        owner = userRepository.save(owner);
+
+        first = createTask("First task");
+        second = createTask("Second task");
+
+        TodoUserDetails principal = new TodoUserDetails(owner.getId(), owner.getUsername(), null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        ownerAuthentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Tests that a search page, category names and owners included, is read in one statement.
+     */
+    @Test
+    void searchTasks_ShouldRunOneStatement() {
+        TaskSearchCriteria criteria = TaskSearchCriteria.builder()
+                .username("counted")
+                .categoryId(category.getCategoryId())
+                .build();
+
+        statementCounter.start();
+        TaskSearchPage page = taskService.searchTasks(criteria, null, 10);
+        int statements = statementCounter.stop();
+
+        assertThat(page.getItems()).extracting(TaskResponseDTO::getTaskId)
+                .containsExactly(first.getTaskId(), second.getTaskId());
+        assertThat(page.getItems()).extracting(TaskResponseDTO::getCategoryName).containsOnly("Query Count Category");
+        assertThat(statements).isEqualTo(1);
+    }
+
+    /**
+     * Tests that getting a task as its owner takes one statement for the ownership check
+     * and one for the task with everything it is rendered with.
+     */
+    @Test
+    void getTask_AsOwner_ShouldRunOwnerCheckAndOneLoad() {
+        SecurityContextHolder.getContext().setAuthentication(ownerAuthentication);
+
+        statementCounter.start();
+        Task task = taskService.getTask(first.getTaskId());
+        String rendered = task.getCategory().getCategoryName() + " " + task.getUser().getUsername()
+                + " " + task.getUser().getRoles();
+        int statements = statementCounter.stop();
+
+        assertThat(rendered).isEqualTo("Query Count Category counted [ROLE_USER]");
+        assertThat(statements).isEqualTo(2);
+    }
+
+    /**
+     * Tests that a task read as a response DTO takes one statement.
+     */
+    @Test
+    void getTaskResponse_ShouldRunOneStatement() {
+        statementCounter.start();
+        TaskResponseDTO task = taskService.getTaskResponse(first.getTaskId());
+        int statements = statementCounter.stop();
+
+        assertThat(task.getUsername()).isEqualTo("counted");
+        assertThat(statements).isEqualTo(1);
+    }
+
+    /**
+     * Tests that authorizing several tasks reads their owners in one statement, and
+     * that authorizing them again reads nothing.
+     */
+    @Test
+    void authorizeTasks_ShouldReadOwnersOnceThenUseCache() {
+        List<Long> taskIds = List.of(first.getTaskId(), second.getTaskId());
+
+        statementCounter.start();
+        BitSet allowed = securityService.authorizeTasks(taskIds, ownerAuthentication);
+        int statements = statementCounter.stop();
+
+        assertThat(allowed.cardinality()).isEqualTo(2);
+        assertThat(statements).isEqualTo(1);
+
+        statementCounter.start();
+        securityService.authorizeTasks(taskIds, ownerAuthentication);
+        assertThat(statementCounter.stop()).isZero();
+    }
+
+    /**
+     * Tests that the category listing is read once, then served from the query and
+     * second-level caches, and read again once a category has been renamed.
+     */
+    @Test
+    void getAllCategories_ShouldUseQueryCacheUntilCategoryChanges() {
+        categoryService.getAllCategories();
+
+        statementCounter.start();
+        List<TaskCategory> cached = categoryService.getAllCategories();
+        assertThat(statementCounter.stop()).isZero();
+        assertThat(cached).extracting(TaskCategory::getCategoryName).containsExactly("Query Count Category");
+
+        categoryService.updateCategory(category.getCategoryId(), new CategoryDTO("Renamed Category", null));
+
+        statementCounter.start();
+        List<TaskCategory> reloaded = categoryService.getAllCategories();
+        assertThat(statementCounter.stop()).isEqualTo(1);
+        assertThat(reloaded).extracting(TaskCategory::getCategoryName).containsExactly("Renamed Category");
+    }
+
+    /**
+     * Creates a task of the owner in the category.
+     */
+    private Task createTask(String name) {
+        Task task = new Task();
+        task.setTaskName(name);
+        task.setDeadline(LocalDateTime.now().plusDays(1));
+        task.setCategory(category);
+        task.setUser(owner);
+        return taskRepository.save(task);
+    }
+}
@@ -0,0 +1,107 @@
+package ch.cern.todo;
+
+import ch.cern.todo.dto.TaskResponseDTO;
+import ch.cern.todo.dto.TaskSearchCriteria;
+import ch.cern.todo.dto.TaskSearchPage;
+import ch.cern.todo.event.TaskCategoryChangedEvent;
+import ch.cern.todo.event.TaskChangedEvent;
+import ch.cern.todo.search.TaskSearchCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the TaskSearchCache class.
+ * Checks that cached pages are served only while no relevant write has happened.
+ *
+ * Test coverage includes:
+ * - Hits for identical searches
+ * - Invalidation by owner, global and catalog generations
+ * - Isolation of unrelated owners
+ * - Hit and miss metrics
+ */
+class TaskSearchCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskSearchCache cache;
+    private TaskSearchPage page;
+
+    /**
+     * Sets up an empty cache and a one-item page before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TaskSearchCache(meterRegistry, 1_000_000, Duration.ofMinutes(1));
+        page = new TaskSearchPage(List.of(new TaskResponseDTO(1L, "Task", null,
+                LocalDateTime.of(2030, 1, 1, 0, 0), "Work", "user1")), null);
+    }
+
+    /**
+     * Tests that a search filtered by owner is invalidated only by that owner's writes.
+     */
+    @Test
+    void ownerScopedEntry_ShouldOnlyBeInvalidatedByOwnerWrites() {
+        TaskSearchCriteria criteria = TaskSearchCriteria.builder().username("user1").build();
+        TaskSearchCache.Key key = key(criteria);
+        cache.put(key, cache.stamp(criteria), page);
+
+        cache.onTaskChanged(event("user2", 20L));
+        assertThat(cache.get(key, cache.stamp(criteria))).isNotNull();
+
+        cache.onTaskChanged(event("user1", 20L));
+        assertThat(cache.get(key, cache.stamp(criteria))).isNull();
+    }
+
+    /**
+     * Tests that an unfiltered search is invalidated by any task write and by category changes.
+     */
+    @Test
+    void globalEntry_ShouldBeInvalidatedByAnyWrite() {
+        TaskSearchCriteria criteria = new TaskSearchCriteria();
+        TaskSearchCache.Key key = key(criteria);
+
+        cache.put(key, cache.stamp(criteria), page);
+        cache.onTaskChanged(event("user2", 20L));
+        assertThat(cache.get(key, cache.stamp(criteria))).isNull();
+
+        cache.put(key, cache.stamp(criteria), page);
+        cache.onCategoryChanged(new TaskCategoryChangedEvent(10L, "Office"));
+        assertThat(cache.get(key, cache.stamp(criteria))).isNull();
+    }
+
+    /**
+     * Tests that pages handed out are copies and that lookups are counted.
+     */
+    @Test
+    void get_ShouldReturnCopiesAndRecordMetrics() {
+        TaskSearchCriteria criteria = new TaskSearchCriteria();
+        TaskSearchCache.Key key = key(criteria);
+        assertThat(cache.get(key, cache.stamp(criteria))).isNull();
+        cache.put(key, cache.stamp(criteria), page);
+
+        TaskSearchPage first = cache.get(key, cache.stamp(criteria));
+        first.setNext("http://localhost/next");
+
+        assertThat(cache.get(key, cache.stamp(criteria)).getNext()).isNull();
+        assertThat(meterRegistry.get("cache.gets").tag("cache", TaskSearchCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", TaskSearchCache.CACHE_NAME)
+                .tag("result", "miss").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    private TaskSearchCache.Key key(TaskSearchCriteria criteria) {
+        return new TaskSearchCache.Key(criteria, null, 20, false, false, "user1");
+    }
+
+    private TaskChangedEvent event(String owner, Long categoryId) {
+        return new TaskChangedEvent(TaskChangedEvent.Type.UPDATED, 5L, "Other", null,
+                LocalDateTime.of(2030, 1, 1, 0, 0), categoryId, "Home", owner);
+    }
+}
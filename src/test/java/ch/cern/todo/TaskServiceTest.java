@@ -1,9 +1,30 @@
 package ch.cern.todo;
 
+import ch.cern.todo.dto.TaskBulkRequest;
+import ch.cern.todo.dto.TaskBulkResult;
+import ch.cern.todo.dto.TaskFuzzyHit;
+import ch.cern.todo.dto.TaskResponseDTO;
+import ch.cern.todo.dto.TaskSearchCriteria;
+import ch.cern.todo.dto.TaskSearchCursor;
+import ch.cern.todo.dto.TaskSearchFacets;
+import ch.cern.todo.dto.TaskSearchPage;
+import ch.cern.todo.event.TaskChangedEvent;
+import ch.cern.todo.exception.InvalidSearchCriteriaException;
+import ch.cern.todo.exception.InvalidSearchCursorException;
+import ch.cern.todo.exception.TaskNotFoundException;
 import ch.cern.todo.model.Task;
 import ch.cern.todo.model.TaskCategory;
 import ch.cern.todo.model.User;
+import ch.cern.todo.repository.TaskCategoryRepository;
+import ch.cern.todo.repository.TaskDocumentView;
 import ch.cern.todo.repository.TaskRepository;
+import ch.cern.todo.search.TaskFullTextIndex;
+import ch.cern.todo.search.TaskNameSuggester;
+import ch.cern.todo.search.TaskSearchCache;
+import ch.cern.todo.search.TaskTermDictionary;
+import ch.cern.todo.search.TaskTextIndex;
+import ch.cern.todo.security.TodoUserDetails;
+import ch.cern.todo.service.SecurityService;
 import ch.cern.todo.service.TaskService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,15 +32,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
@@ -30,6 +61,7 @@ import static org.mockito.Mockito.*;
  * - Task creation with validation
  * - Task retrieval and updates
  * - Task search functionality
+ * - Bulk updates and deletes limited to accessible tasks
  * - Error handling and validation
  * - Business rule enforcement
  */
@@ -39,6 +71,27 @@ public class TaskServiceTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskCategoryRepository taskCategoryRepository;
+
+    @Mock
+    private SecurityService securityService;
+
+    @Mock
+    private TaskTextIndex taskTextIndex;
+
+    @Mock
+    private TaskFullTextIndex taskFullTextIndex;
+
+    @Mock
+    private TaskSearchCache taskSearchCache;
+
+    @Mock
+    private TaskNameSuggester taskNameSuggester;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -69,6 +122,9 @@ public class TaskServiceTest {
         testCategory.setCategoryName("Test Category");
         testCategory.setCategoryDescription("Test Description");
 
+        // Substring filters pass through the text index unchanged
+        lenient().when(taskTextIndex.rewrite(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
         // Set future deadline for valid task creation
         testDeadline = LocalDateTime.now().plusDays(1);
 
@@ -89,9 +145,11 @@ public class TaskServiceTest {
      * - All fields are preserved
      * - Repository is called exactly once
      * - Returned task matches input
+     * - A change event is published for the indexes
      */
     @Test
     void createTask_ShouldReturnCreatedTask() {
+        when(taskCategoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
         when(taskRepository.save(any(Task.class))).thenReturn(testTask);
 
         Task created = taskService.createTask(testTask);
@@ -101,6 +159,47 @@ public class TaskServiceTest {
         assertThat(created.getUser()).isEqualTo(testUser);
         assertThat(created.getCategory()).isEqualTo(testCategory);
         verify(taskRepository, times(1)).save(any(Task.class));
+        verify(eventPublisher).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    /**
+     * Tests task creation for an owner known only by ID.
+     * Verifies:
+     * - The change event names the owner given by the caller
+     * - The unloaded owner reference is not asked for its username
+     */
+    @Test
+    void createTask_WithOwnerReference_ShouldNameOwnerFromCaller() {
+        User ownerReference = mock(User.class);
+        testTask.setUser(ownerReference);
+        when(taskCategoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+        when(taskRepository.save(any(Task.class))).thenReturn(testTask);
+
+        taskService.createTask(testTask, "testuser");
+
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof TaskChangedEvent changed
+                && "testuser".equals(changed.getOwnerUsername())));
+        verify(ownerReference, never()).getUsername();
+    }
+
+    /**
+     * Tests that a task is created in its stored category, whatever category name the
+     * request carried.
+     */
+    @Test
+    void createTask_WithMadeUpCategoryName_ShouldUseStoredCategory() {
+        TaskCategory requested = new TaskCategory();
+        requested.setCategoryId(1L);
+        requested.setCategoryName("Invented");
+        testTask.setCategory(requested);
+        when(taskCategoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Task created = taskService.createTask(testTask, "testuser");
+
+        assertThat(created.getCategory().getCategoryName()).isEqualTo("Test Category");
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof TaskChangedEvent changed
+                && "Test Category".equals(changed.getCategoryName())));
     }
 
     /**
@@ -112,14 +211,14 @@ public class TaskServiceTest {
      */
     @Test
     void getTask_ShouldReturnTask() {
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+        when(taskRepository.findDetailByTaskId(1L)).thenReturn(Optional.of(testTask));
 
         Task found = taskService.getTask(1L);
 
         assertThat(found).isNotNull();
         assertThat(found.getTaskId()).isEqualTo(1L);
         assertThat(found.getUser()).isEqualTo(testUser);
-        verify(taskRepository, times(1)).findById(1L);
+        verify(taskRepository, times(1)).findDetailByTaskId(1L);
     }
 
     /**
@@ -131,7 +230,7 @@ public class TaskServiceTest {
      */
     @Test
     void getTask_WithInvalidId_ShouldThrowException() {
-        when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+        when(taskRepository.findDetailByTaskId(999L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> taskService.getTask(999L))
                 .isInstanceOf(RuntimeException.class)
@@ -154,41 +253,183 @@ public class TaskServiceTest {
         updatedTask.setUser(testUser);
         updatedTask.setDeadline(testDeadline);
 
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+        when(taskRepository.findDetailByTaskId(1L)).thenReturn(Optional.of(testTask));
         when(taskRepository.save(any(Task.class))).thenReturn(updatedTask);
 
         Task result = taskService.updateTask(1L, updatedTask);
 
         assertThat(result).isNotNull();
         assertThat(result.getTaskName()).isEqualTo("Updated Task");
-        verify(taskRepository, times(1)).findById(1L);
+        verify(taskRepository, times(1)).findDetailByTaskId(1L);
         verify(taskRepository, times(1)).save(any(Task.class));
     }
 
+    /**
+     * Tests retrieval of a task as a projected DTO.
+     * Verifies:
+     * - The projection is returned as-is
+     * - A missing task raises TaskNotFoundException
+     */
+    @Test
+    void getTaskResponse_ShouldReturnProjection() {
+        when(taskRepository.findResponseById(1L)).thenReturn(Optional.of(toResponse(testTask)));
+        when(taskRepository.findResponseById(999L)).thenReturn(Optional.empty());
+
+        TaskResponseDTO found = taskService.getTaskResponse(1L);
+
+        assertThat(found.getUsername()).isEqualTo(testUser.getUsername());
+        assertThat(found.getCategoryName()).isEqualTo(testCategory.getCategoryName());
+        assertThatThrownBy(() -> taskService.getTaskResponse(999L))
+                .isInstanceOf(TaskNotFoundException.class);
+    }
+
+    /**
+     * Tests typo-tolerant search.
+     * Verifies:
+     * - Hits keep the dictionary's ranking
+     * - Tasks deleted since the dictionary was read are skipped
+     * - Out-of-range distances are rejected
+     */
+    @Test
+    void fuzzySearch_ShouldKeepRankingAndSkipDeletedTasks() {
+        when(taskNameSuggester.fuzzyMatch("testuser", "tset", 2, 20)).thenReturn(List.of(
+                new TaskTermDictionary.Match(1L, "Test Task", 1),
+                new TaskTermDictionary.Match(2L, "Gone", 1)));
+        when(taskRepository.findResponsesByIds(List.of(1L, 2L))).thenReturn(List.of(toResponse(testTask)));
+
+        List<TaskFuzzyHit> hits = taskService.fuzzySearch("testuser", "tset", null, null);
+
+        assertThat(hits).extracting(hit -> hit.getTask().getTaskId()).containsExactly(1L);
+        assertThat(hits.get(0).getDistance()).isEqualTo(1);
+        assertThatThrownBy(() -> taskService.fuzzySearch("testuser", "tset", 3, null))
+                .isInstanceOf(InvalidSearchCriteriaException.class);
+    }
+
     /**
      * Tests task search functionality with multiple criteria.
      * Verifies:
      * - Search returns expected results
      * - All search criteria are properly handled
      * - Repository search method is called correctly
+     * - A short result set is the last page
      */
     @Test
     void searchTasks_ShouldReturnMatchingTasks() {
-        List<Task> expectedTasks = Arrays.asList(testTask);
-        when(taskRepository.search(any(), any(), any(), any(), any()))
+        List<TaskResponseDTO> expectedTasks = Arrays.asList(toResponse(testTask));
+        when(taskRepository.search(any(), any(), any(), anyInt()))
                 .thenReturn(expectedTasks);
 
-        List<Task> result = taskService.searchTasks(
-                testUser.getUsername(),
-                "Test",
-                "Description",
-                testDeadline,
-                testCategory.getCategoryId()
-        );
+        TaskSearchCriteria criteria = TaskSearchCriteria.builder()
+                .username(testUser.getUsername())
+                .name("Test")
+                .description("Description")
+                .deadline(testDeadline)
+                .categoryId(testCategory.getCategoryId())
+                .build();
+
+        TaskSearchPage result = taskService.searchTasks(criteria, null, null);
+
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getItems().get(0).getTaskName()).isEqualTo(testTask.getTaskName());
+        assertThat(result.getNextCursor()).isNull();
+        verify(taskRepository, times(1)).search(any(), any(), any(), anyInt());
+    }
+
+    /**
+     * Tests keyset pagination of the search results.
+     * Verifies:
+     * - One extra row is requested beyond the page size
+     * - A full page carries a cursor positioned on its last task
+     * - The cursor is passed back to the repository as the seek key
+     */
+    @Test
+    void searchTasks_WithMoreRowsThanPageSize_ShouldReturnCursor() {
+        TaskResponseDTO firstTask = toResponse(testTask);
+        TaskResponseDTO secondTask = TaskResponseDTO.builder()
+                .taskId(2L)
+                .taskName("Second Task")
+                .deadline(testDeadline.plusHours(1))
+                .build();
+        when(taskRepository.search(any(), any(), isNull(), eq(2)))
+                .thenReturn(Arrays.asList(firstTask, secondTask));
+
+        TaskSearchPage firstPage = taskService.searchTasks(new TaskSearchCriteria(), null, 1);
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getTaskName()).isEqualTo(testTask.getTaskName());
-        verify(taskRepository, times(1)).search(any(), any(), any(), any(), any());
+        assertThat(firstPage.getItems()).containsExactly(firstTask);
+        assertThat(TaskSearchCursor.decode(firstPage.getNextCursor()))
+                .isEqualTo(new TaskSearchCursor(testDeadline, 1L));
+
+        when(taskRepository.search(any(), any(), eq(new TaskSearchCursor(testDeadline, 1L)), eq(2)))
+                .thenReturn(List.of(secondTask));
+
+        TaskSearchPage secondPage = taskService.searchTasks(new TaskSearchCriteria(),
+                firstPage.getNextCursor(), 1);
+
+        assertThat(secondPage.getItems()).containsExactly(secondTask);
+        assertThat(secondPage.getNextCursor()).isNull();
+    }
+
+    /**
+     * Tests facet counts on a page after the first one.
+     * Verifies:
+     * - Facets are computed from a plan without the keyset position
+     * - Deadline buckets not counted explicitly end up in LATER
+     */
+    @Test
+    void searchTasks_WithFacetsOnLaterPage_ShouldCountWithoutCursor() {
+        TaskSearchFacets facets = TaskSearchFacets.empty(false);
+        facets.add(1L, null, 3, 1, 1, 0);
+        when(taskRepository.facets(any(), any(), eq(false), any())).thenReturn(facets);
+        String cursor = new TaskSearchCursor(testDeadline, 1L).encode();
+
+        TaskSearchPage page = taskService.searchTasks(new TaskSearchCriteria(), cursor, 1, true, false);
+
+        assertThat(page.getFacets().getTotal()).isEqualTo(3);
+        assertThat(page.getFacets().getCategories()).containsEntry(1L, 3L);
+        assertThat(page.getFacets().getDeadlines()).containsEntry(TaskSearchFacets.DeadlineBucket.LATER, 1L);
+        assertThat(page.getFacets().getOwners()).isNull();
+        verify(taskRepository).planSearch(any(), isNull());
+    }
+
+    /**
+     * Tests that deadline filters are normalized into a half-open range.
+     * Verifies:
+     * - A single-day filter becomes [day start, next day start)
+     * - An explicit range is intersected with the single-day filter
+     */
+    @Test
+    void searchCriteria_WithDeadlineFilters_ShouldProduceHalfOpenRange() {
+        TaskSearchCriteria criteria = TaskSearchCriteria.builder()
+                .deadline(LocalDateTime.of(2030, 5, 17, 15, 30))
+                .deadlineFrom(LocalDateTime.of(2030, 5, 17, 12, 0))
+                .build();
+
+        assertThat(criteria.getEffectiveDeadlineFrom()).isEqualTo(LocalDateTime.of(2030, 5, 17, 12, 0));
+        assertThat(criteria.getEffectiveDeadlineTo()).isEqualTo(LocalDateTime.of(2030, 5, 18, 0, 0));
+    }
+
+    /**
+     * Tests that a deadline range ending before it starts is rejected.
+     */
+    @Test
+    void searchTasks_WithInvertedDeadlineRange_ShouldThrowException() {
+        TaskSearchCriteria criteria = TaskSearchCriteria.builder()
+                .deadlineFrom(LocalDateTime.of(2030, 5, 18, 0, 0))
+                .deadlineTo(LocalDateTime.of(2030, 5, 17, 0, 0))
+                .build();
+
+        assertThatThrownBy(() -> taskService.searchTasks(criteria, null, null))
+                .isInstanceOf(InvalidSearchCriteriaException.class)
+                .hasMessage("deadlineFrom must be before deadlineTo");
+    }
+
+    /**
+     * Tests that a cursor not issued by the API is rejected.
+     */
+    @Test
+    void searchTasks_WithInvalidCursor_ShouldThrowException() {
+        assertThatThrownBy(() -> taskService.searchTasks(new TaskSearchCriteria(), "not-a-cursor", null))
+                .isInstanceOf(InvalidSearchCursorException.class);
     }
 
     /**
@@ -206,4 +447,92 @@ public class TaskServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Task name is required");
     }
+
+    /**
+     * Tests bulk deletion by ID for a regular user.
+     * Verifies:
+     * - IDs the user may not access are skipped
+     * - The remaining tasks are deleted in one statement restricted to the user
+     * - A change event is published per deleted task
+     */
+    @Test
+    void bulkDelete_WithTaskIds_ShouldDeleteAccessibleTasksOnly() {
+        TaskBulkRequest request = new TaskBulkRequest();
+        request.setTaskIds(List.of(1L, 2L, 3L));
+        Authentication authentication = userAuthentication();
+        BitSet allowed = new BitSet();
+        allowed.set(0);
+        allowed.set(2);
+        when(securityService.authorizeTasks(List.of(1L, 2L, 3L), authentication)).thenReturn(allowed);
+        List<TaskDocumentView> documents = List.of(document(1L, 1L), document(3L, 1L));
+        when(taskRepository.findDocumentsByIds(List.of(1L, 3L))).thenReturn(documents);
+        when(taskRepository.deleteByIdsAndOwner(List.of(1L, 3L), 1L)).thenReturn(2);
+
+        TaskBulkResult result = taskService.bulkDelete(request, authentication);
+
+        assertThat(result.getMatched()).isEqualTo(2);
+        assertThat(result.getAffected()).isEqualTo(2);
+        assertThat(result.getSkipped()).isEqualTo(1);
+        verify(eventPublisher, times(2)).publishEvent(any(TaskChangedEvent.class));
+        verify(taskRepository, never()).delete(any(Task.class));
+    }
+
+    /**
+     * Tests bulk update by filter for a regular user.
+     * Verifies:
+     * - The filter is narrowed to the user's own tasks
+     * - The change event records the category the task moved from
+     * - Filtering on another user's tasks is denied
+     */
+    @Test
+    void bulkUpdate_WithFilter_ShouldMoveOwnTasksOnly() {
+        TaskBulkRequest request = new TaskBulkRequest();
+        request.setFilter(TaskSearchCriteria.builder().name("report").build());
+        request.setCategoryId(1L);
+        Authentication authentication = userAuthentication();
+        when(taskCategoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TaskResponseDTO>>getArgument(3).accept(toResponse(testTask));
+            return 1L;
+        }).when(taskRepository).streamSearch(any(), argThat(criteria -> "testuser".equals(criteria.getUsername())),
+                anyInt(), any());
+        List<TaskDocumentView> documents = List.of(document(1L, 9L));
+        when(taskRepository.findDocumentsByIds(List.of(1L))).thenReturn(documents);
+        when(taskRepository.updateCategoryByIdsAndOwner(List.of(1L), 1L, testCategory)).thenReturn(1);
+
+        TaskBulkResult result = taskService.bulkUpdate(request, authentication);
+
+        assertThat(result.getAffected()).isEqualTo(1);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof TaskChangedEvent changed
+                && changed.getCategoryId().equals(1L) && changed.getPreviousCategoryId().equals(9L)));
+
+        request.setFilter(TaskSearchCriteria.builder().username("someoneelse").build());
+        assertThatThrownBy(() -> taskService.bulkUpdate(request, authentication))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    private static Authentication userAuthentication() {
+        TodoUserDetails principal = new TodoUserDetails(1L, "testuser", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    /**
+     * Builds the snapshot the repository would read for a task of the test user.
+     */
+    private TaskDocumentView document(Long taskId, Long categoryId) {
+        TaskDocumentView document = mock(TaskDocumentView.class);
+        lenient().when(document.getTaskId()).thenReturn(taskId);
+        lenient().when(document.getCategoryId()).thenReturn(categoryId);
+        lenient().when(document.getOwnerUsername()).thenReturn("testuser");
+        return document;
+    }
+
+    /**
+     * Builds the response DTO the repository projection would return for a task.
+     */
+    private static TaskResponseDTO toResponse(Task task) {
+        return new TaskResponseDTO(task.getTaskId(), task.getTaskName(), task.getTaskDescription(),
+                task.getDeadline(), task.getCategory().getCategoryName(), task.getUser().getUsername());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package ch.cern.todo;
+
+import ch.cern.todo.model.Task;
+import ch.cern.todo.model.TaskCategory;
+import ch.cern.todo.model.User;
+import ch.cern.todo.repository.TaskCategoryRepository;
+import ch.cern.todo.repository.TaskRepository;
+import ch.cern.todo.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the NDJSON export of the search endpoint.
+ *
+ * Features tested:
+ * - Export selected by "Accept: application/x-ndjson"
+ * - More rows than one fetch of the database cursor, all written once, in deadline order
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:taskstream;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.sql.init.mode=never",
+                "todo.search.fulltext.directory=build/fulltext-index-stream"
+        }
+)
+@ActiveProfiles("test")
+class TaskStreamIntegrationTest {
+
+    /**
+     * More tasks than the service reads per fetch of the cursor (500).
+     */
+    private static final int TASKS = 1201;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskCategoryRepository categoryRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private TaskCategory category;
+
+    /**
+     * Task IDs in the order the export must list them.
+     */
+    private List<Long> expectedOrder;
+
+    /**
+     * Sets up one user with tasks whose deadlines run opposite to their IDs, so the
+     * export order can only come from sorting by deadline.
+     */
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        categoryRepository.deleteAll();
+
+        category = categoryRepository.save(new TaskCategory("Export Category"));
+
+        User user = new User();
+        user.setUsername("exporter");
+        user.setPassword(passwordEncoder.encode("password1"));
+        user.setRoles(new HashSet<>(Collections.singleton("ROLE_USER")));
+        user = userRepository.save(user);
+
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        List<Task> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(new Task("Task " + i, null, base.plusMinutes(TASKS - i), category, user));
+        }
+        expectedOrder = new ArrayList<>(taskRepository.saveAll(tasks).stream().map(Task::getTaskId).toList());
+        Collections.reverse(expectedOrder);
+    }
+
+    /**
+     * Tests that every matching task is written as one JSON line, ordered by deadline.
+     */
+    @Test
+    void search_WithNdjsonAccept_ShouldStreamAllTasksInDeadlineOrder() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBasicAuth("exporter", "password1");
+        headers.setAccept(List.of(MediaType.parseMediaType("application/x-ndjson")));
+
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/tasks/search?categoryId=" + category.getCategoryId(),
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                String.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType().toString()).startsWith("application/x-ndjson");
+        String[] lines = response.getBody().split("\n");
+        assertThat(lines).hasSize(TASKS);
+        List<Long> taskIds = new ArrayList<>(TASKS);
+        for (String line : lines) {
+            taskIds.add(objectMapper.readTree(line).get("taskId").asLong());
+        }
+        assertThat(taskIds).containsExactlyElementsOf(expectedOrder);
+    }
+}
@@ -0,0 +1,87 @@
+package ch.cern.todo;
+
+import ch.cern.todo.search.TaskTermDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the TaskTermDictionary class.
+ *
+ * Test coverage includes:
+ * - Matches within the edit distance, ranked by distance
+ * - Multi-word queries
+ * - Reduced distance for short words
+ * - Renames and removals
+ */
+class TaskTermDictionaryTest {
+
+    private TaskTermDictionary dictionary;
+
+    /**
+     * Sets up a dictionary with a few task names before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        dictionary = new TaskTermDictionary();
+        dictionary.put(1L, "Prepare meeting agenda");
+        dictionary.put(2L, "Meeting notes");
+        dictionary.put(3L, "Review budget");
+        dictionary.put(4L, "Meting room booking");
+    }
+
+    /**
+     * Tests that misspelled words find their tasks, closest first.
+     */
+    @Test
+    void match_ShouldRankByDistance() {
+        assertThat(dictionary.match("meting", 2, 10))
+                .extracting(TaskTermDictionary.Match::taskId)
+                .containsExactly(4L, 2L, 1L);
+        assertThat(dictionary.match("meeting", 0, 10))
+                .extracting(TaskTermDictionary.Match::taskId)
+                .containsExactly(2L, 1L);
+        assertThat(dictionary.match("bugdet", 2, 10))
+                .extracting(TaskTermDictionary.Match::distance)
+                .containsExactly(2);
+    }
+
+    /**
+     * Tests that every word of the query must match and distances add up.
+     */
+    @Test
+    void match_ShouldRequireEveryWord() {
+        assertThat(dictionary.match("meetng agnda", 2, 10))
+                .containsExactly(new TaskTermDictionary.Match(1L, "Prepare meeting agenda", 2));
+        assertThat(dictionary.match("meeting budget", 2, 10)).isEmpty();
+    }
+
+    /**
+     * Tests that short words must match exactly.
+     */
+    @Test
+    void match_ShouldNotStretchShortWords() {
+        dictionary.put(5L, "Go to CERN");
+
+        assertThat(dictionary.match("to", 2, 10)).extracting(TaskTermDictionary.Match::taskId).containsExactly(5L);
+        assertThat(dictionary.match("tp", 2, 10)).isEmpty();
+    }
+
+    /**
+     * Tests that renames and removals are reflected in matches.
+     */
+    @Test
+    void putAndRemove_ShouldUpdateMatches() {
+        dictionary.put(2L, "Call supplier");
+        dictionary.remove(4L);
+
+        assertThat(dictionary.match("meeting", 1, 10))
+                .extracting(TaskTermDictionary.Match::taskId)
+                .containsExactly(1L);
+        assertThat(dictionary.match("suplier", 1, 10))
+                .extracting(TaskTermDictionary.Match::taskId)
+                .containsExactly(2L);
+        assertThat(dictionary.size()).isEqualTo(3);
+    }
+}
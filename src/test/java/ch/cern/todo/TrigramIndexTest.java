@@ -0,0 +1,80 @@
+package ch.cern.todo;
+
+import ch.cern.todo.search.TrigramIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the TrigramIndex class.
+ * Checks that substring answers match the semantics of LOWER(text) LIKE '%query%'.
+ *
+ * Test coverage includes:
+ * - Case-insensitive substring matching
+ * - Verification of trigram candidates
+ * - Incremental updates and removals
+ * - Queries too short for the index
+ */
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    /**
+     * Sets up an index with a few documents before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.put(1L, "Buy groceries");
+        index.put(2L, "Prepare Quarterly report");
+        index.put(3L, "Report bug in grocery app");
+    }
+
+    /**
+     * Tests case-insensitive substring matching.
+     */
+    @Test
+    void search_ShouldMatchSubstringsIgnoringCase() {
+        assertThat(index.search("REPORT")).containsExactly(2L, 3L);
+        assertThat(index.search("grocer")).containsExactly(1L, 3L);
+        assertThat(index.search("y gro")).containsExactly(1L);
+    }
+
+    /**
+     * Tests that candidates sharing all trigrams but not the substring are rejected.
+     * Both documents contain every trigram of "bcabc" but not "bcabc" itself.
+     */
+    @Test
+    void search_ShouldVerifyCandidates() {
+        index.put(10L, "xabcaby");
+        index.put(11L, "cabcab");
+
+        assertThat(index.search("abcab")).containsExactly(10L, 11L);
+        assertThat(index.search("bcabc")).isEmpty();
+    }
+
+    /**
+     * Tests that updates replace the previous text and removals drop the document.
+     */
+    @Test
+    void putAndRemove_ShouldKeepIndexConsistent() {
+        index.put(1L, "Buy flowers");
+        index.remove(3L);
+
+        assertThat(index.search("grocer")).isEmpty();
+        assertThat(index.search("flower")).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    /**
+     * Tests that queries shorter than a trigram are refused.
+     */
+    @Test
+    void search_WithShortQuery_ShouldBeRejected() {
+        assertThat(TrigramIndex.supports("ab")).isFalse();
+        assertThatThrownBy(() -> index.search("ab"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
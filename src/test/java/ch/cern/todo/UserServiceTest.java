@@ -0,0 +1,102 @@
+package ch.cern.todo;
+
+import ch.cern.todo.event.UserCredentialsChangedEvent;
+import ch.cern.todo.model.User;
+import ch.cern.todo.repository.UserRepository;
+import ch.cern.todo.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the UserService class.
+ *
+ * Test coverage includes:
+ * - Password and role changes stored
+ * - A credential change event published for every change, so caches can evict the user
+ * - Invalid changes rejected without an event
+ */
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private UserService userService;
+
+    private User user;
+
+    /**
+     * Sets up one stored user.
+     */
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(1L);
+        user.setUsername("user1");
+        user.setPassword("old-hash");
+        user.setRoles(new HashSet<>(Set.of("ROLE_USER")));
+    }
+
+    /**
+     * Tests that a new password is stored encoded and announced.
+     */
+    @Test
+    void changePassword_ShouldStoreHashAndPublishEvent() {
+        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user));
+        when(passwordEncoder.encode("new-password")).thenReturn("new-hash");
+
+        userService.changePassword("user1", "new-password");
+
+        assertThat(user.getPassword()).isEqualTo("new-hash");
+        verify(userRepository).save(user);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof UserCredentialsChangedEvent changed
+                && "user1".equals(changed.getUsername())));
+    }
+
+    /**
+     * Tests that new roles are stored and announced.
+     */
+    @Test
+    void updateRoles_ShouldStoreRolesAndPublishEvent() {
+        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user));
+
+        userService.updateRoles("user1", Set.of("ROLE_ADMIN"));
+
+        assertThat(user.getRoles()).containsExactly("ROLE_ADMIN");
+        verify(userRepository).save(user);
+        verify(eventPublisher).publishEvent(any(UserCredentialsChangedEvent.class));
+    }
+
+    /**
+     * Tests that empty passwords and role sets are rejected before anything is read or announced.
+     */
+    @Test
+    void changes_WithoutValue_ShouldBeRejected() {
+        assertThatThrownBy(() -> userService.changePassword("user1", " "))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> userService.updateRoles("user1", Set.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(userRepository, eventPublisher);
+    }
+}
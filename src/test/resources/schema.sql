@@ -2,6 +2,10 @@ DROP TABLE IF EXISTS tasks;
 DROP TABLE IF EXISTS task_categories;
 DROP TABLE IF EXISTS users;
 
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS task_categories_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS tasks_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE users (
                        id BIGINT AUTO_INCREMENT PRIMARY KEY,
                        username VARCHAR(255) NOT NULL UNIQUE,
@@ -23,4 +27,8 @@ CREATE TABLE tasks (
                        user_id BIGINT NOT NULL,
                        FOREIGN KEY (category_id) REFERENCES task_categories(category_id),
                        FOREIGN KEY (user_id) REFERENCES users(id)
-);
\ No newline at end of file
+);
+
+CREATE INDEX idx_tasks_deadline_id ON tasks (deadline, task_id);
+CREATE INDEX idx_tasks_user_deadline ON tasks (user_id, deadline);
+CREATE INDEX idx_tasks_category_deadline ON tasks (category_id, deadline);
\ No newline at end of file